@@ -0,0 +1,150 @@
+import java.math.BigInteger;
+
+/**
+ * A BarrettContext does arithmetic modulo an odd prime p with values held as
+ * they are, reducing each product by Barrett's method (Handbook of Applied
+ * Cryptography, Algorithm 14.42) in base b = 2^64. With n the number of words
+ * in p, the constant mu = floor(b^2n / p) turns the quotient of a product by
+ * p into two multiplications by precomputed words and a few subtractions.
+ * <p>
+ * Unlike Montgomery form, values never need converting on the way in or out,
+ * which makes a BarrettContext cheaper when only a few multiplications are
+ * done per conversion, or when a product is only two words wide.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public class BarrettContext extends FieldContext {
+// Attributes
+
+    /**
+     * floor(2^(128n) / p), as a MutableInteger of n + 1 words.
+     */
+    private final MutableInteger mu;
+
+// Constructors
+
+    /**
+     * Constructs a new Barrett context for the given prime.
+     *
+     * @param p The odd prime number to perform modular arithmetic over, as a
+     *          BigInteger.
+     *
+     * @throws IllegalArgumentException If p is not odd.
+     */
+    protected BarrettContext(BigInteger p) {
+        super(p);
+        this.mu = new MutableInteger(this.length + 1);
+        this.mu.set(BigInteger.ONE.shiftLeft(128 * this.length).divide(p));
+    }
+
+// Methods
+
+    /**
+     * Creates a register for values modulo p, with scratch space for the
+     * product and the quotient estimate a Barrett reduction works on.
+     *
+     * @return A new MutableInteger, equal to zero.
+     */
+    @Override
+    protected MutableInteger newRegister() {
+        return new MutableInteger(this.length, 4 * this.length + 2);
+    }
+
+    /**
+     * Returns the number of bits a register has to spare above p. The
+     * reduction holds for any product below 2^(128n), so multiply accepts
+     * any two registers within the default maxMagnitude().
+     *
+     * @return 64n minus the bit length of p.
+     */
+    @Override
+    protected int headroom() {
+        return 64 * this.length - this.p.bitLength();
+    }
+
+    /**
+     * Sets r to ab mod p by Barrett reduction. The product and the quotient
+     * estimate are kept in the scratch words of r, so r may be the same
+     * register as a or b. r must have been created by newRegister.
+     *
+     * @param r The register to write the product to.
+     * @param a The first factor, of magnitude at most maxMagnitude().
+     * @param b The second factor, of magnitude at most maxMagnitude().
+     */
+    @Override
+    protected void multiply(MutableInteger r, MutableInteger a,
+                            MutableInteger b) {
+        int n = this.length;
+        long[] t = r.scratch;
+        // x = ab in t[0, 2n).
+        multiply(t, 0, 2 * n, 0, a.words, 0, n, b.words, n);
+        // q2 = floor(x / b^(n - 1)) * mu in t[2n, 4n + 2). Only its top n + 1
+        // words are used, so the columns below n - 1 are skipped; the
+        // quotient is then at most two short of the true one.
+        multiply(t, 2 * n, 2 * n + 2, n - 1, t, n - 1, n + 1, this.mu.words,
+                 n + 1);
+        // q3 * p mod b^(n + 1) in t[2n, 3n + 1), where q3 = floor(q2 /
+        // b^(n + 1)) lies in t[3n + 1, 4n + 2).
+        multiply(t, 2 * n, n + 1, 0, t, 3 * n + 1, n + 1,
+                 this.modulus.words, n);
+        // r = x - q3 * p mod b^(n + 1), which is less than 5p.
+        long borrow = 0;
+        for (int i = 0; i <= n; i++) {
+            long x = t[i];
+            long y = t[2 * n + i];
+            long difference = x - y;
+            long c = Long.compareUnsigned(x, y) >>> 31;
+            t[i] = difference - borrow;
+            borrow = c | (Long.compareUnsigned(difference, borrow) >>> 31);
+        }
+        System.arraycopy(t, 0, r.words, 0, n);
+        r.magnitude = 1;
+        long top = t[n];
+        while (top != 0 || MutableInteger.compare(r, this.modulus) >= 0) {
+            top -= MutableInteger.subtract(r, r, this.modulus);
+        }
+    }
+
+    /**
+     * Writes the low words of a product of two word arrays to t, skipping
+     * the columns below a given one.
+     *
+     * @param t       The array to write the product to.
+     * @param to      The index in t of the lowest word of the product.
+     * @param width   The number of words of the product to write.
+     * @param skip    The number of low columns to leave as zero, which drops
+     *                their carries into the columns above.
+     * @param a       The array holding the first factor.
+     * @param from    The index in a of the lowest word of the first factor.
+     * @param aLength The number of words in the first factor.
+     * @param b       The second factor, starting at index 0.
+     * @param bLength The number of words in the second factor.
+     */
+    private static void multiply(long[] t, int to, int width, int skip,
+                                 long[] a, int from, int aLength, long[] b,
+                                 int bLength) {
+        for (int i = 0; i < width; i++) {
+            t[to + i] = 0;
+        }
+        for (int i = 0; i < aLength && i < width; i++) {
+            long ai = a[from + i];
+            long c = 0;
+            int j = Math.max(0, skip - i);
+            for (; j < bLength && i + j < width; j++) {
+                long lo = ai * b[j];
+                long hi = Math.unsignedMultiplyHigh(ai, b[j]);
+                long w = t[to + i + j];
+                lo += w;
+                hi += Long.compareUnsigned(lo, w) >>> 31;
+                lo += c;
+                hi += Long.compareUnsigned(lo, c) >>> 31;
+                t[to + i + j] = lo;
+                c = hi;
+            }
+            if (i + j < width) {
+                t[to + i + j] = c;
+            }
+        }
+    }
+}
@@ -1,17 +1,48 @@
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 
 /**
  * A Curve represents any elliptic curve that can be expressed in short
  * Weierstrass form (y^2 = x^3 + ax + b).
  *
  * @author Sam K
- * @version 1/27/2025
+ * @version 10/18/2026
  */
 public class Curve {
 // Attributes
 
+    /**
+     * The width in bits of the scalar digits multiply consumes at a time,
+     * once a scalar is long enough for a table of multiples to pay off.
+     */
+    private static final int WINDOW = 4;
+
+    /**
+     * The shortest scalar, in bits, that multiply tabulates multiples for.
+     * Below it the table would cost more additions than it saves.
+     */
+    private static final int WINDOW_BITS = 16;
+
+    /**
+     * The number of multiples in the table of a windowed multiplication,
+     * one for each digit, zero included.
+     */
+    private static final int MULTIPLES = 1 << WINDOW;
+
+    /**
+     * The index of the first register of the table of multiples.
+     */
+    private static final int TABLE = 25;
+
+    /**
+     * The number of encodings from which decompress splits a batch across
+     * the available cores instead of decoding it on the calling thread.
+     */
+    private static final int PARALLEL_BATCH = 64;
+
     /**
      * The generator point of this Curve, as a Point.
      */
@@ -34,6 +65,65 @@ public class Curve {
      */
     private final BigInteger p;
 
+    /**
+     * The arithmetic context for p, which all point arithmetic on this Curve
+     * runs through.
+     */
+    private final FieldContext field;
+
+    /**
+     * The shape of the "a" coefficient, which selects the doubling formula.
+     */
+    private final CurveShape shape;
+
+    /**
+     * The formulas scalar multiplication runs on.
+     */
+    private final PointFormulas formulas;
+
+    /**
+     * The "a" coefficient of this Curve in the representation of the field
+     * context, as a MutableInteger.
+     */
+    private final MutableInteger aRegister;
+
+    /**
+     * The "b" coefficient of this Curve in the representation of the field
+     * context, as a MutableInteger.
+     */
+    private final MutableInteger bRegister;
+
+    /**
+     * Three times the "b" coefficient of this Curve in the representation of
+     * the field context, as a MutableInteger, which the complete formulas
+     * use in place of b.
+     */
+    private final MutableInteger b3Register;
+
+    /**
+     * One in the representation of the field context, as a MutableInteger,
+     * which stands in for the Z-coordinate of an affine table entry.
+     */
+    private final MutableInteger oneRegister;
+
+    /**
+     * The scratch registers of each thread doing point arithmetic on this
+     * Curve. The first three are reserved for inversion, the next three hold
+     * intermediate values of an affine addition, and the next four hold the
+     * coordinates of the affine points being added. After them come the
+     * projective coordinates of two points and nine intermediate values of
+     * the projective formulas. The rest hold a table of multiples, four
+     * registers to an entry: its X, Y and Z coordinates, and the running
+     * product of the Z coordinates up to it that normalization works on.
+     */
+    private final ThreadLocal<MutableInteger[]> registers;
+
+    /**
+     * The square root context for p, used to find the y-coordinates for a
+     * given x.
+     */
+    private final SqrtContext sqrt;
+
 // Constructors
 
     /**
@@ -48,16 +138,79 @@ public class Curve {
      * @param G The generator point of this Curve, as a Point.
      */
     protected Curve(BigInteger a, BigInteger b, BigInteger p, Point G) {
+        this(a, b, p, G, FieldContext.forPrime(p));
+    }
+
+    /**
+     * Constructs a new elliptic curve based on the given parameters, doing
+     * its arithmetic in the given field context.
+     *
+     * @param a     The "a" coefficient of the short Weierstrass form of this
+     *              Curve, as a BigInteger.
+     * @param b     The "b" coefficient of the short Weierstrass form of this
+     *              Curve, as a BigInteger.
+     * @param p     The prime number to perform modular arithmetic over, as a
+     *              BigInteger.
+     * @param G     The generator point of this Curve, as a Point.
+     * @param field The arithmetic context for p, as a FieldContext.
+     */
+    protected Curve(BigInteger a, BigInteger b, BigInteger p, Point G,
+                    FieldContext field) {
+        this(a, b, p, G, field, PointFormulas.JACOBIAN);
+    }
+
+    /**
+     * Constructs a new elliptic curve based on the given parameters, doing
+     * its arithmetic in the given field context with the given formulas.
+     *
+     * @param a        The "a" coefficient of the short Weierstrass form of
+     *                 this Curve, as a BigInteger.
+     * @param b        The "b" coefficient of the short Weierstrass form of
+     *                 this Curve, as a BigInteger.
+     * @param p        The prime number to perform modular arithmetic over, as
+     *                 a BigInteger.
+     * @param G        The generator point of this Curve, as a Point.
+     * @param field    The arithmetic context for p, as a FieldContext.
+     * @param formulas The formulas to add and multiply points with, as a
+     *                 PointFormulas.
+     *
+     * @throws IllegalArgumentException If the complete formulas are asked
+     *                                  for on a Curve with a point of order
+     *                                  two, where they give wrong sums.
+     */
+    protected Curve(BigInteger a, BigInteger b, BigInteger p, Point G,
+                    FieldContext field, PointFormulas formulas) {
+        if (formulas == PointFormulas.COMPLETE &&
+            Modular.cubicHasRoot(a, b, p)) {
+            throw new IllegalArgumentException(
+                    "The complete formulas do not apply to a Curve with a " +
+                    "point of order two");
+        }
         this.a = a;
         this.b = b;
         this.p = p;
         this.G = G;
+        this.field = field;
+        this.shape = CurveShape.classify(a, p);
+        this.formulas = formulas;
+        this.aRegister = this.field.newRegister();
+        this.field.encode(this.aRegister, a);
+        this.bRegister = this.field.newRegister();
+        this.field.encode(this.bRegister, b);
+        this.b3Register = this.field.newRegister();
+        this.field.encode(this.b3Register, b.multiply(BigInteger.valueOf(3)));
+        this.oneRegister = this.field.newRegister();
+        this.field.encode(this.oneRegister, BigInteger.ONE);
+        this.registers = ThreadLocal.withInitial(this::newRegisters);
+        this.sqrt = new SqrtContext(p);
     }
 
 // Methods
 
     /**
-     * Adds two points on this Curve modulo p.
+     * Adds two points on this Curve modulo p. With the complete formulas,
+     * the sum is computed in projective coordinates without distinguishing
+     * doubling, inverse or infinite addends.
      *
      * @param pointA The first addend, as a Point.
      * @param pointB The second addend, as a Point.
@@ -65,32 +218,191 @@ public class Curve {
      * @return The resultant Point on this Curve.
      */
     protected Point add(Point pointA, Point pointB) {
-        if (pointA.x().equals(pointB.x()) &&
-            pointA.y().add(pointB.y()).mod(this.p).equals(BigInteger.ZERO)) {
-            return Point.INFINITY;
-        } else if (pointA.equals(Point.INFINITY)) {
+        if (this.formulas == PointFormulas.COMPLETE) {
+            MutableInteger[] r = this.registers.get();
+            this.toProjective(r[10], r[11], r[12], pointA);
+            this.toProjective(r[13], r[14], r[15], pointB);
+            this.addComplete(r[10], r[11], r[12], r[13], r[14], r[15], r);
+            return this.fromProjective(r[10], r[11], r[12], r);
+        }
+        if (pointA.isInfinity()) {
             return pointB;
-        } else if (pointB.equals(Point.INFINITY)) {
+        } else if (pointB.isInfinity()) {
             return pointA;
         }
-        BigInteger slope;
-        if (pointA.equals(pointB)) {
-            slope = ((pointA.x().pow(2).multiply(BigInteger.valueOf(3))
-                            .add(this.a)).multiply(
-                    (pointA.y().multiply(BigInteger.TWO)
-                           .modInverse(this.p)))).mod(this.p);
+        FieldContext m = this.field;
+        MutableInteger[] r = this.registers.get();
+        m.encode(r[6], pointA.x());
+        m.encode(r[7], pointA.y());
+        m.encode(r[8], pointB.x());
+        m.encode(r[9], pointB.y());
+        if (!this.add(r[6], r[7], r[8], r[9], r)) {
+            return Point.INFINITY;
+        }
+        return new Point(m.decode(r[6]), m.decode(r[7]));
+    }
+
+    /**
+     * Adds each Point of one array to the Point at the same index in
+     * another, with the slopes of all the additions sharing one inversion.
+     * A first pass finds each pair's slope as a fraction, the chord through
+     * distinct points or the tangent at equal ones, and keeps the running
+     * product of the denominators. The product is then inverted once, and
+     * unwinding it from the last pair to the first yields every
+     * denominator's inverse for three multiplications each, after which a
+     * sum costs one multiplication for the slope and the same square and
+     * multiplication as an affine addition. Pairs with The Point At Infinity
+     * or with opposite points need no slope and are settled in the first
+     * pass.
+     *
+     * @param pointsA The first addends, as Points.
+     * @param pointsB The second addends, as Points, as many as pointsA.
+     *
+     * @return The sums, as Points, in the same order as the addends.
+     *
+     * @throws IllegalArgumentException If the arrays differ in length.
+     */
+    protected Point[] addAll(Point[] pointsA, Point[] pointsB) {
+        if (pointsA.length != pointsB.length) {
+            throw new IllegalArgumentException(
+                    "Cannot add " + pointsA.length + " Points to " +
+                    pointsB.length + " Points pairwise");
+        }
+        int size = pointsA.length;
+        FieldContext m = this.field;
+        MutableInteger[] r = this.registers.get();
+        Point[] sums = new Point[size];
+        // The x-coordinates and the numerator of the slope of each pair, and
+        // the running product of the denominators up to it.
+        MutableInteger[] x1 = new MutableInteger[size];
+        MutableInteger[] x2 = new MutableInteger[size];
+        MutableInteger[] y1 = new MutableInteger[size];
+        MutableInteger[] numerators = new MutableInteger[size];
+        MutableInteger[] denominators = new MutableInteger[size];
+        MutableInteger[] running = new MutableInteger[size];
+        MutableInteger one = r[15];
+        m.encode(one, BigInteger.ONE);
+        MutableInteger product = one;
+        for (int i = 0; i < size; i++) {
+            running[i] = product;
+            if (pointsA[i].isInfinity()) {
+                sums[i] = pointsB[i];
+                continue;
+            } else if (pointsB[i].isInfinity()) {
+                sums[i] = pointsA[i];
+                continue;
+            }
+            m.encode(r[6], pointsA[i].x());
+            m.encode(r[7], pointsA[i].y());
+            m.encode(r[8], pointsB[i].x());
+            m.encode(r[9], pointsB[i].y());
+            MutableInteger numerator = new MutableInteger(m.length());
+            MutableInteger denominator = new MutableInteger(m.length());
+            if (MutableInteger.compare(r[6], r[8]) != 0) {
+                m.subtract(numerator, r[9], r[7]);
+                m.subtract(denominator, r[8], r[6]);
+            } else if (MutableInteger.compare(r[7], r[9]) != 0 ||
+                       r[7].isZero()) {
+                sums[i] = Point.INFINITY;
+                continue;
+            } else {
+                m.square(r[3], r[6]);
+                m.add(numerator, r[3], r[3]);
+                m.add(numerator, numerator, r[3]);
+                m.add(numerator, numerator, this.aRegister);
+                m.add(denominator, r[7], r[7]);
+            }
+            x1[i] = new MutableInteger(m.length());
+            x1[i].set(r[6]);
+            x2[i] = new MutableInteger(m.length());
+            x2[i].set(r[8]);
+            y1[i] = new MutableInteger(m.length());
+            y1[i].set(r[7]);
+            numerators[i] = numerator;
+            denominators[i] = denominator;
+            running[i] = m.newRegister();
+            m.multiply(running[i], product, denominator);
+            product = running[i];
+        }
+        if (product == one) {
+            return sums;
+        }
+        MutableInteger inverse = r[16];
+        MutableInteger slope = r[17];
+        MutableInteger t = r[18];
+        m.invert(inverse, product, r);
+        for (int i = size - 1; i >= 0; i--) {
+            if (numerators[i] == null) {
+                continue;
+            }
+            m.multiply(slope, inverse, i > 0 ? running[i - 1] : one);
+            m.multiply(inverse, inverse, denominators[i]);
+            m.multiply(slope, slope, numerators[i]);
+            m.square(t, slope);
+            m.subtract(t, t, x1[i]);
+            m.subtract(t, t, x2[i]);
+            m.subtract(x1[i], x1[i], t);
+            m.multiply(slope, slope, x1[i]);
+            m.subtract(slope, slope, y1[i]);
+            sums[i] = new Point(m.decode(t), m.decode(slope));
+        }
+        return sums;
+    }
+
+    /**
+     * Adds a Point to the sum held by a PointAccumulator of this Curve, in
+     * place, with a mixed addition, or a complete one if this Curve uses the
+     * complete formulas.
+     *
+     * @param sum   The accumulator to add to.
+     * @param point The Point to add.
+     */
+    protected void addInPlace(PointAccumulator sum, Point point) {
+        MutableInteger[] r = this.registers.get();
+        this.toProjective(r[13], r[14], r[15], point);
+        if (this.formulas == PointFormulas.COMPLETE) {
+            this.addComplete(sum.x, sum.y, sum.z, r[13], r[14], r[15], r);
+        } else if (!point.isInfinity()) {
+            this.addMixed(sum.x, sum.y, sum.z, r[13], r[14], r);
+        }
+    }
+
+    /**
+     * Adds the sum held by one PointAccumulator of this Curve to another, in
+     * place. Neither needs converting, so nothing is allocated.
+     *
+     * @param sum   The accumulator to add to.
+     * @param other The accumulator to add, which may be sum.
+     */
+    protected void addInPlace(PointAccumulator sum, PointAccumulator other) {
+        MutableInteger[] r = this.registers.get();
+        if (this.formulas == PointFormulas.COMPLETE) {
+            this.addComplete(sum.x, sum.y, sum.z, other.x, other.y, other.z,
+                             r);
         } else {
-            slope = ((pointB.y().subtract(pointA.y())).multiply(
-                    (pointB.x().subtract(pointA.x())).modInverse(this.p))).mod(
-                    this.p);
+            this.addJacobian(sum.x, sum.y, sum.z, other.x, other.y, other.z,
+                             r);
+        }
+    }
+
+    /**
+     * Adds an entry of a PointTable built by this Curve to the sum held by a
+     * PointAccumulator, in place. The entry is read straight into registers,
+     * so nothing is allocated.
+     *
+     * @param sum   The accumulator to add to.
+     * @param table The table to read the entry from.
+     * @param i     The index of the entry.
+     */
+    protected void addInPlace(PointAccumulator sum, PointTable table, int i) {
+        MutableInteger[] r = this.registers.get();
+        table.get(i, r[13], r[14]);
+        r[15].set(this.oneRegister);
+        if (this.formulas == PointFormulas.COMPLETE) {
+            this.addComplete(sum.x, sum.y, sum.z, r[13], r[14], r[15], r);
+        } else {
+            this.addMixed(sum.x, sum.y, sum.z, r[13], r[14], r);
         }
-        BigInteger newX =
-                ((slope.pow(2)).subtract(pointA.x()).subtract(pointB.x())).mod(
-                        this.p);
-        BigInteger newY =
-                slope.multiply(pointA.x().subtract(newX)).subtract(pointA.y())
-                     .mod(this.p);
-        return new Point(newX, newY);
     }
 
     /**
@@ -102,12 +414,7 @@ public class Curve {
      * @return An array of Points.
      */
     protected Point[] computePoint(BigInteger x) {
-        BigInteger yBase = ((((x.modPow(BigInteger.valueOf(3), p)).mod(p)
-                                                                  .add(x.multiply(
-                                                                                a)
-                                                                        .mod(p))).mod(
-                p).add(b)).mod(p));
-        BigInteger yRoot = Modular.squareRootModP(yBase, p);
+        BigInteger yRoot = this.sqrt.squareRoot(this.rightHandSide(x));
         if (yRoot == null) {
             return null;
         }
@@ -125,6 +432,105 @@ public class Curve {
         return points;
     }
 
+    /**
+     * Decodes a Point on this Curve from its SEC1 encoding: a single zero
+     * byte for The Point At Infinity, 0x02 or 0x03 followed by x for a
+     * compressed Point with an even or odd y, or 0x04 followed by x and y
+     * for an uncompressed one, each coordinate big-endian in as many bytes
+     * as p takes.
+     *
+     * @param encoding The encoded Point, as an array of bytes.
+     *
+     * @return The decoded Point on this Curve.
+     *
+     * @throws IllegalArgumentException If the encoding is malformed or does
+     *                                  not describe a Point on this Curve.
+     */
+    protected Point decode(byte[] encoding) {
+        int length = (this.p.bitLength() + 7) / 8;
+        if (encoding.length == 1 && encoding[0] == 0x00) {
+            return Point.INFINITY;
+        } else if (encoding.length == 1 + length
+                   && (encoding[0] == 0x02 || encoding[0] == 0x03)) {
+            BigInteger x = this.coordinate(encoding, 1, length);
+            return this.decompress(x, encoding[0] == 0x03);
+        } else if (encoding.length == 1 + 2 * length && encoding[0] == 0x04) {
+            BigInteger x = this.coordinate(encoding, 1, length);
+            BigInteger y = this.coordinate(encoding, 1 + length, length);
+            if (!y.multiply(y).mod(this.p).equals(this.rightHandSide(x))) {
+                throw new IllegalArgumentException("Point is not on Curve");
+            }
+            return new Point(x, y);
+        }
+        throw new IllegalArgumentException("Malformed SEC1 encoding");
+    }
+
+    /**
+     * Decodes a batch of SEC1 encoded Points on this Curve, as decode does.
+     * Every decoding shares the square root context of p, which is worked
+     * out once per prime, and a large batch is split across the available
+     * cores, each decoding in the scratch registers of its own thread.
+     *
+     * @param encodings The encoded Points, as an array of arrays of bytes.
+     *
+     * @return The decoded Points, in the same order.
+     *
+     * @throws IllegalArgumentException If any encoding is malformed or does
+     *                                  not describe a Point on this Curve.
+     */
+    protected Point[] decompress(byte[][] encodings) {
+        Point[] points = new Point[encodings.length];
+        IntStream indices = IntStream.range(0, encodings.length);
+        if (encodings.length >= PARALLEL_BATCH) {
+            indices = indices.parallel();
+        }
+        indices.forEach(i -> points[i] = this.decode(encodings[i]));
+        return points;
+    }
+
+    /**
+     * Doubles a Point on this Curve modulo p, using the tangent formula for
+     * the shape of this Curve, or the complete doubling formula if this Curve
+     * uses the complete formulas.
+     *
+     * @param point The Point to double.
+     *
+     * @return The resultant Point on this Curve.
+     */
+    protected Point dbl(Point point) {
+        if (this.formulas == PointFormulas.COMPLETE) {
+            MutableInteger[] r = this.registers.get();
+            this.toProjective(r[10], r[11], r[12], point);
+            this.dblComplete(r[10], r[11], r[12], r);
+            return this.fromProjective(r[10], r[11], r[12], r);
+        }
+        if (point.isInfinity()) {
+            return Point.INFINITY;
+        }
+        FieldContext m = this.field;
+        MutableInteger[] r = this.registers.get();
+        m.encode(r[6], point.x());
+        m.encode(r[7], point.y());
+        if (!this.dbl(r[6], r[7], r)) {
+            return Point.INFINITY;
+        }
+        return new Point(m.decode(r[6]), m.decode(r[7]));
+    }
+
+    /**
+     * Doubles the sum held by a PointAccumulator of this Curve, in place.
+     *
+     * @param sum The accumulator to double.
+     */
+    protected void doubleInPlace(PointAccumulator sum) {
+        MutableInteger[] r = this.registers.get();
+        if (this.formulas == PointFormulas.COMPLETE) {
+            this.dblComplete(sum.x, sum.y, sum.z, r);
+        } else {
+            this.dblJacobian(sum.x, sum.y, sum.z, r);
+        }
+    }
+
     /**
      * Performs ElGamal asymmetric decryption for an array of bytes over this
      * Curve.
@@ -143,6 +549,30 @@ public class Curve {
         return cleartext;
     }
 
+    /**
+     * Encodes a Point on this Curve in SEC1 form, as decode reads it.
+     *
+     * @param point      The Point to encode.
+     * @param compressed Whether to encode only x and the parity of y.
+     *
+     * @return The encoded Point, as an array of bytes.
+     */
+    protected byte[] encode(Point point, boolean compressed) {
+        if (point.isInfinity()) {
+            return new byte[]{0x00};
+        }
+        int length = (this.p.bitLength() + 7) / 8;
+        byte[] encoding = new byte[compressed ? 1 + length : 1 + 2 * length];
+        if (compressed) {
+            encoding[0] = (byte) (point.y().testBit(0) ? 0x03 : 0x02);
+        } else {
+            encoding[0] = 0x04;
+            this.coordinate(point.y(), encoding, 1 + length, length);
+        }
+        this.coordinate(point.x(), encoding, 1, length);
+        return encoding;
+    }
+
     /**
      * Performs ElGamal asymmetric encryption for an array of bytes over this
      * Curve.
@@ -154,17 +584,64 @@ public class Curve {
      */
     protected Point[][] encrypt(byte[] cleartext, Point Q) {
         Point[][] ciphertext = new Point[cleartext.length][2];
+        BigInteger order = order(this.G);
+        BigInteger[] k = new BigInteger[cleartext.length];
+        for (int i = 0; i < cleartext.length; i++) {
+            k[i] = BigMath.nextRandomBigInteger(order);
+        }
+        Point[] C = this.multiplyAll(this.G, k);
+        Point[] kQ = this.multiplyAll(Q, k);
 
         for (int i = 0; i < cleartext.length; i++) {
-            ciphertext[i] = this.encrypt(cleartext[i], Q);
+            Point M = this.map(cleartext[i]);
+            ciphertext[i] = new Point[]{C[i], this.add(M, kQ[i])};
         }
 
         return ciphertext;
     }
 
     /**
-     * Multiply a Point on this Curve by a scalar using the double and add
-     * algorithm.
+     * Reads an entry of a PointTable built by this Curve back as a Point,
+     * converting its coordinates out of the representation of the field
+     * context.
+     *
+     * @param table The table to read from.
+     * @param i     The index of the entry.
+     *
+     * @return The entry, as a Point.
+     */
+    protected Point entry(PointTable table, int i) {
+        FieldContext m = this.field;
+        MutableInteger[] r = this.registers.get();
+        table.get(i, r[13], r[14]);
+        return new Point(m.decode(r[13]), m.decode(r[14]));
+    }
+
+    /**
+     * Returns the formulas this Curve does point arithmetic with.
+     *
+     * @return The formulas, as a PointFormulas.
+     */
+    protected PointFormulas formulas() {
+        return this.formulas;
+    }
+
+    /**
+     * Multiply a Point on this Curve by a scalar using the left-to-right
+     * double and add algorithm. Scalars of WINDOW_BITS or more are consumed
+     * WINDOW bits at a time, adding a multiple of the Point from a table
+     * after every WINDOW doublings.
+     * <p>
+     * With Jacobian coordinates, where (X, Y, Z) stands for the affine point
+     * (X / Z^2, Y / Z^3), the table is normalized to affine coordinates with
+     * one shared inversion, so every addition in the ladder uses the cheaper
+     * mixed formulas, and the only other inversion is spent converting the
+     * product back to affine coordinates. With the complete formulas, the
+     * table stays projective and every digit, zero included, adds its entry,
+     * so the ladder takes no branches on the Points it meets.
+     * <p>
+     * All of the arithmetic runs in this thread's registers, so nothing is
+     * allocated between converting the Point in and the product out.
      *
      * @param p The Point to multiply.
      * @param t The scalar to multiply by, as a BigInteger.
@@ -172,45 +649,1057 @@ public class Curve {
      * @return The product, as a Point.
      */
     protected Point multiply(Point p, BigInteger t) {
-        p = p.copy();
-        Point result = Point.INFINITY;
-        int m = t.bitLength();
-        for (int i = 0; i <= m; i++) {
-            if (t.testBit(i)) {
-                result = add(p, result);
+        if (this.formulas == PointFormulas.JACOBIAN && p.isInfinity()) {
+            return Point.INFINITY;
+        }
+        MutableInteger[] r = this.registers.get();
+        int window = t.bitLength() < WINDOW_BITS ? 1 : WINDOW;
+        this.tabulate(p, window, r);
+        this.ladder(r[10], r[11], r[12], t, window, r);
+        if (this.formulas == PointFormulas.COMPLETE) {
+            return this.fromProjective(r[10], r[11], r[12], r);
+        }
+        return this.toAffine(r[10], r[11], r[12], r);
+    }
+
+    /**
+     * Multiplies a Point on this Curve by each of several scalars. The table
+     * of multiples is built once for all of them, each product is left in
+     * projective coordinates, and normalizeAll brings them all back to
+     * affine coordinates with one shared inversion. Curves with a batch field
+     * representation override this to run the scalar multiplications side
+     * by side.
+     *
+     * @param p       The Point to multiply.
+     * @param scalars The scalars to multiply by, as BigIntegers.
+     *
+     * @return The products, as Points, in the same order as the scalars.
+     */
+    protected Point[] multiplyAll(Point p, BigInteger[] scalars) {
+        PointAccumulator[] products = new PointAccumulator[scalars.length];
+        if (this.formulas == PointFormulas.JACOBIAN && p.isInfinity()) {
+            Point[] points = new Point[scalars.length];
+            Arrays.fill(points, Point.INFINITY);
+            return points;
+        }
+        int bits = 0;
+        for (BigInteger t : scalars) {
+            bits = Math.max(bits, t.bitLength());
+        }
+        MutableInteger[] r = this.registers.get();
+        int window = bits < WINDOW_BITS ? 1 : WINDOW;
+        this.tabulate(p, window, r);
+        for (int i = 0; i < scalars.length; i++) {
+            products[i] = this.newAccumulator();
+            this.ladder(products[i].x, products[i].y, products[i].z,
+                        scalars[i], window, r);
+        }
+        return this.normalizeAll(products);
+    }
+
+    /**
+     * Multiplies a fixed Point by each of several scalars, using a table
+     * built for it by fixedBase. Every window of WINDOW bits of a scalar
+     * selects one entry of the table, so each product costs one mixed
+     * addition per non-zero digit and no doublings at all, and normalizeAll
+     * brings the products back to affine coordinates with one shared
+     * inversion. Each product takes a third to a quarter of the time it takes
+     * with a table built per call.
+     *
+     * @param fixedBase The table of the fixed Point, built by fixedBase.
+     * @param scalars   The scalars to multiply by, as non-negative
+     *                  BigIntegers no longer than the table was built for.
+     *
+     * @return The products, as Points, in the same order as the scalars.
+     *
+     * @throws IllegalArgumentException If a scalar is negative or too long
+     *                                  for the table.
+     */
+    protected Point[] multiplyAll(PointTable fixedBase, BigInteger[] scalars) {
+        int windows = fixedBase.size() / (MULTIPLES - 1);
+        PointAccumulator[] products = new PointAccumulator[scalars.length];
+        for (int i = 0; i < scalars.length; i++) {
+            BigInteger t = scalars[i];
+            if (t.signum() < 0 || t.bitLength() > WINDOW * windows) {
+                throw new IllegalArgumentException(
+                        "The scalar " + t + " does not fit a " +
+                        WINDOW * windows + "-bit fixed-base table");
+            }
+            products[i] = this.newAccumulator();
+            for (int w = 0; w < windows; w++) {
+                int digit = 0;
+                for (int bit = 0; bit < WINDOW; bit++) {
+                    if (t.testBit(WINDOW * w + bit)) {
+                        digit |= 1 << bit;
+                    }
+                }
+                if (digit != 0) {
+                    this.addInPlace(products[i], fixedBase,
+                                    w * (MULTIPLES - 1) + digit - 1);
+                }
             }
-            p = add(p, p);
         }
-        return result;
+        return this.normalizeAll(products);
+    }
+
+    /**
+     * Builds an off-heap table of the first multiples of a Point, p, 2p, ...,
+     * count * p, with coordinates in the representation of the field
+     * context. Entries can be read back with entry, or added to an
+     * accumulator with addInPlace.
+     *
+     * @param p     The Point to take multiples of.
+     * @param count The number of multiples.
+     *
+     * @return The multiples, as a PointTable that the caller must close.
+     *
+     * @throws IllegalArgumentException If one of the multiples is The Point
+     *                                  At Infinity.
+     */
+    protected PointTable multiples(Point p, int count) {
+        PointTable table = new PointTable(count, this.field.length());
+        try {
+            this.fill(table, 0, p, count);
+        } catch (IllegalArgumentException e) {
+            table.close();
+            throw e;
+        }
+        return table;
+    }
+
+    /**
+     * Builds an off-heap table for multiplying a fixed Point by scalars of up
+     * to a given number of bits with multiplyAll. For every window i of
+     * WINDOW bits, the table holds j 2^(WINDOW i) p for j from 1 to
+     * MULTIPLES - 1, so a 256-bit table has 64 windows and 960 entries. A
+     * table costs about as much to build as a dozen scalar multiplications,
+     * so it is worth keeping for as long as the Point is in use, as with G.
+     *
+     * @param p    The Point to build the table for.
+     * @param bits The largest bit length of the scalars the table is for.
+     *
+     * @return The table, as a PointTable that the caller must close.
+     *
+     * @throws IllegalArgumentException If one of the entries is The Point At
+     *                                  Infinity, which happens when the
+     *                                  order of p is too small.
+     */
+    protected PointTable fixedBase(Point p, int bits) {
+        int windows = (bits + WINDOW - 1) / WINDOW;
+        PointTable table = new PointTable(windows * (MULTIPLES - 1),
+                                          this.field.length());
+        try {
+            Point base = p;
+            for (int i = 0; i < windows; i++) {
+                if (i > 0) {
+                    base = this.multiply(base,
+                                         BigInteger.valueOf(MULTIPLES));
+                }
+                this.fill(table, i * (MULTIPLES - 1), base, MULTIPLES - 1);
+            }
+        } catch (IllegalArgumentException e) {
+            table.close();
+            throw e;
+        }
+        return table;
+    }
+
+    /**
+     * Negates the sum held by a PointAccumulator of this Curve, in place.
+     * Jacobian and homogeneous coordinates alike negate a point by negating
+     * Y.
+     *
+     * @param sum The accumulator to negate.
+     */
+    protected void negate(PointAccumulator sum) {
+        MutableInteger zero = this.registers.get()[16];
+        zero.set(0);
+        this.field.subtract(sum.y, zero, sum.y);
+    }
+
+    /**
+     * Creates a PointAccumulator for this Curve, holding The Point At
+     * Infinity.
+     *
+     * @return A new PointAccumulator.
+     */
+    protected PointAccumulator newAccumulator() {
+        FieldContext m = this.field;
+        PointAccumulator sum = new PointAccumulator(this, m.newRegister(),
+                                                    m.newRegister(),
+                                                    m.newRegister());
+        this.toProjective(sum.x, sum.y, sum.z, Point.INFINITY);
+        return sum;
+    }
+
+    /**
+     * Converts the sums held by PointAccumulators of this Curve to affine
+     * Points with a single inversion shared by all of them through
+     * Montgomery's trick. The running products of the Z coordinates are
+     * inverted once and unwound from the last sum to the first, each step
+     * peeling off one inverse Z; sums at The Point At Infinity are skipped
+     * and come out as it. The accumulators are left as they are.
+     *
+     * @param sums The accumulators to convert.
+     *
+     * @return The sums, as Points, in the same order as the accumulators.
+     */
+    protected Point[] normalizeAll(PointAccumulator[] sums) {
+        FieldContext m = this.field;
+        MutableInteger[] r = this.registers.get();
+        Point[] points = new Point[sums.length];
+        MutableInteger[] running = new MutableInteger[sums.length];
+        MutableInteger one = r[15];
+        m.encode(one, BigInteger.ONE);
+        MutableInteger product = one;
+        boolean finite = false;
+        for (int i = 0; i < sums.length; i++) {
+            running[i] = m.newRegister();
+            if (sums[i].isInfinity()) {
+                running[i].set(product);
+            } else {
+                m.multiply(running[i], product, sums[i].z);
+                finite = true;
+            }
+            product = running[i];
+        }
+        Arrays.fill(points, Point.INFINITY);
+        if (!finite) {
+            return points;
+        }
+        MutableInteger inverse = r[16];
+        MutableInteger zInverse = r[17];
+        MutableInteger t = r[18];
+        m.invert(inverse, product, r);
+        for (int i = sums.length - 1; i >= 0; i--) {
+            PointAccumulator sum = sums[i];
+            if (sum.isInfinity()) {
+                continue;
+            }
+            m.multiply(zInverse, inverse, i > 0 ? running[i - 1] : one);
+            m.multiply(inverse, inverse, sum.z);
+            if (this.formulas == PointFormulas.COMPLETE) {
+                m.multiply(r[10], sum.x, zInverse);
+                m.multiply(r[11], sum.y, zInverse);
+            } else {
+                m.square(t, zInverse);
+                m.multiply(r[10], sum.x, t);
+                m.multiply(t, t, zInverse);
+                m.multiply(r[11], sum.y, t);
+            }
+            points[i] = new Point(m.decode(r[10]), m.decode(r[11]));
+        }
+        return points;
     }
 
     /**
      * Determines the order of the cyclic group generated by a given Point on
-     * this Curve in a naive way.
+     * this Curve in a naive way, by adding the Point to itself until the sum
+     * is The Point At Infinity. The sum is kept in Jacobian coordinates in
+     * this thread's registers, so each step is one mixed addition and the
+     * test for infinity is a test of Z for zero.
      *
      * @param p The base Point to find the order of.
      *
      * @return The order of the cyclic group generated by p, as a BigInteger.
      */
     protected BigInteger order(Point p) {
-        BigInteger order = BigInteger.ZERO;
-        BigInteger t = BigInteger.ZERO;
-        boolean hasSeenInfinity = false;
-        while (true) {
-            Point q = this.multiply(p, t);
-            if (q.equals(Point.INFINITY)) {
-                if (!hasSeenInfinity) {
-                    order = order.add(BigInteger.ONE);
-                    hasSeenInfinity = true;
+        if (p.isInfinity()) {
+            return BigInteger.ONE;
+        }
+        MutableInteger[] r = this.registers.get();
+        this.toProjective(r[13], r[14], r[15], p);
+        this.toProjective(r[10], r[11], r[12], p);
+        long order = 1;
+        while (!r[12].isZero()) {
+            this.addMixed(r[10], r[11], r[12], r[13], r[14], r);
+            order++;
+        }
+        return BigInteger.valueOf(order);
+    }
+
+    /**
+     * Converts the sum held by a PointAccumulator of this Curve to a Point,
+     * leaving the accumulator as it is.
+     *
+     * @param sum The accumulator to convert.
+     *
+     * @return The sum, as a Point.
+     */
+    protected Point toPoint(PointAccumulator sum) {
+        MutableInteger[] r = this.registers.get();
+        r[10].set(sum.x);
+        r[11].set(sum.y);
+        r[12].set(sum.z);
+        if (this.formulas == PointFormulas.COMPLETE) {
+            return this.fromProjective(r[10], r[11], r[12], r);
+        }
+        return this.toAffine(r[10], r[11], r[12], r);
+    }
+
+    /**
+     * Runs the left-to-right double and add ladder for a scalar over the
+     * table of multiples built by tabulate, consuming the scalar a window
+     * at a time. With Jacobian coordinates, digits whose entry is The Point
+     * At Infinity are skipped and every other addition is mixed; with the
+     * complete formulas, every digit, zero included, adds its entry.
+     *
+     * @param x         The register to write the X-coordinate of the product
+     *                  to.
+     * @param y         The register to write the Y-coordinate of the product
+     *                  to.
+     * @param z         The register to write the Z-coordinate of the product
+     *                  to.
+     * @param t         The scalar to multiply by, as a BigInteger.
+     * @param window    The width in bits of the digits, as the table was
+     *                  built for.
+     * @param registers This thread's registers.
+     */
+    private void ladder(MutableInteger x, MutableInteger y, MutableInteger z,
+                        BigInteger t, int window, MutableInteger[] registers) {
+        boolean complete = this.formulas == PointFormulas.COMPLETE;
+        this.toProjective(x, y, z, Point.INFINITY);
+        for (int i = (t.bitLength() + window - 1) / window - 1; i >= 0; i--) {
+            int digit = 0;
+            for (int j = window - 1; j >= 0; j--) {
+                if (complete) {
+                    this.dblComplete(x, y, z, registers);
                 } else {
-                    break;
+                    this.dblJacobian(x, y, z, registers);
                 }
+                digit = 2 * digit + (t.testBit(i * window + j) ? 1 : 0);
+            }
+            MutableInteger ex = registers[TABLE + 4 * digit];
+            MutableInteger ey = registers[TABLE + 4 * digit + 1];
+            MutableInteger ez = registers[TABLE + 4 * digit + 2];
+            if (complete) {
+                this.addComplete(x, y, z, ex, ey, ez, registers);
+            } else if (!ez.isZero()) {
+                this.addMixed(x, y, z, ex, ey, registers);
+            }
+        }
+    }
+
+    /**
+     * Builds the table of multiples a ladder adds from, 0p, p, ...,
+     * (2^window - 1) p, in this thread's registers. With Jacobian
+     * coordinates the entries are normalized to affine coordinates; with
+     * the complete formulas they stay projective.
+     *
+     * @param p         The Point to take multiples of, which must not be The
+     *                  Point At Infinity unless this Curve uses the complete
+     *                  formulas.
+     * @param window    The width in bits of the digits the ladder will
+     *                  consume.
+     * @param registers This thread's registers.
+     */
+    private void tabulate(Point p, int window, MutableInteger[] registers) {
+        MutableInteger x = registers[10];
+        MutableInteger y = registers[11];
+        MutableInteger z = registers[12];
+        MutableInteger px = registers[13];
+        MutableInteger py = registers[14];
+        MutableInteger pz = registers[15];
+        int count = 1 << window;
+        this.toProjective(px, py, pz, p);
+        this.toProjective(x, y, z, Point.INFINITY);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && this.formulas == PointFormulas.COMPLETE) {
+                this.addComplete(x, y, z, px, py, pz, registers);
+            } else if (i > 0) {
+                this.addMixed(x, y, z, px, py, registers);
+            }
+            registers[TABLE + 4 * i].set(x);
+            registers[TABLE + 4 * i + 1].set(y);
+            registers[TABLE + 4 * i + 2].set(z);
+        }
+        if (this.formulas == PointFormulas.JACOBIAN) {
+            this.normalize(count - 1, registers);
+        }
+    }
+
+    /**
+     * Adds two points on this Curve whose coordinates are held in registers
+     * in the representation of the field context, writing the sum over the
+     * first. Equal points are
+     * passed on to the doubling formula.
+     *
+     * @param x1        The x-coordinate of the first addend and the sum.
+     * @param y1        The y-coordinate of the first addend and the sum.
+     * @param x2        The x-coordinate of the second addend.
+     * @param y2        The y-coordinate of the second addend.
+     * @param registers This thread's registers.
+     *
+     * @return False if the sum is The Point At Infinity, True otherwise.
+     */
+    private boolean add(MutableInteger x1, MutableInteger y1,
+                        MutableInteger x2, MutableInteger y2,
+                        MutableInteger[] registers) {
+        FieldContext m = this.field;
+        MutableInteger slope = registers[3];
+        MutableInteger t = registers[4];
+        MutableInteger w = registers[5];
+        if (MutableInteger.compare(x1, x2) == 0) {
+            if (MutableInteger.compare(y1, y2) != 0) {
+                return false;
+            }
+            return this.dbl(x1, y1, registers);
+        }
+        m.subtract(slope, y2, y1);
+        m.subtract(t, x2, x1);
+        m.invert(w, t, registers);
+        m.multiply(slope, slope, w);
+        m.square(t, slope);
+        m.subtract(t, t, x1);
+        m.subtract(t, t, x2);
+        m.subtract(w, x1, t);
+        m.multiply(w, slope, w);
+        m.subtract(y1, w, y1);
+        x1.set(t);
+        return true;
+    }
+
+    /**
+     * Doubles a Point on this Curve whose coordinates are held in registers
+     * in the representation of the field context, in place. The numerator of
+     * the tangent slope, 3x^2 + a, drops the addition when a is zero.
+     *
+     * @param x         The x-coordinate of the Point and its double.
+     * @param y         The y-coordinate of the Point and its double.
+     * @param registers This thread's registers.
+     *
+     * @return False if the double is The Point At Infinity, True otherwise.
+     */
+    private boolean dbl(MutableInteger x, MutableInteger y,
+                        MutableInteger[] registers) {
+        if (y.isZero()) {
+            return false;
+        }
+        FieldContext m = this.field;
+        MutableInteger slope = registers[3];
+        MutableInteger t = registers[4];
+        MutableInteger w = registers[5];
+        m.square(t, x);
+        // 3x^2 + a only feeds a multiplication, so it is left unreduced. In
+        // affine form a = -3 saves nothing over a general a; it only pays off
+        // once the slope's denominator is not inverted right away.
+        m.addLazy(slope, t, t);
+        m.addLazy(slope, slope, t);
+        if (this.shape != CurveShape.ZERO) {
+            m.addLazy(slope, slope, this.aRegister);
+        }
+        m.add(t, y, y);
+        m.invert(w, t, registers);
+        m.multiply(slope, slope, w);
+        m.square(t, slope);
+        m.subtract(t, t, x);
+        m.subtract(t, t, x);
+        m.subtractLazy(w, x, t);
+        m.multiply(w, slope, w);
+        m.subtract(y, w, y);
+        x.set(t);
+        return true;
+    }
+
+    /**
+     * Adds two points on this Curve in Jacobian coordinates, writing the sum
+     * over the first, using the add-2007-bl formulas. Whether the points
+     * share an x-coordinate is decided by comparing X1 Z2^2 with X2 Z1^2, so
+     * the doubling and inverse cases are caught without an inversion.
+     *
+     * @param x1        The X-coordinate of the first addend and the sum.
+     * @param y1        The Y-coordinate of the first addend and the sum.
+     * @param z1        The Z-coordinate of the first addend and the sum.
+     * @param x2        The X-coordinate of the second addend.
+     * @param y2        The Y-coordinate of the second addend.
+     * @param z2        The Z-coordinate of the second addend.
+     * @param registers This thread's registers.
+     */
+    private void addJacobian(MutableInteger x1, MutableInteger y1,
+                             MutableInteger z1, MutableInteger x2,
+                             MutableInteger y2, MutableInteger z2,
+                             MutableInteger[] registers) {
+        if (z2.isZero()) {
+            return;
+        } else if (z1.isZero()) {
+            x1.set(x2);
+            y1.set(y2);
+            z1.set(z2);
+            return;
+        }
+        FieldContext m = this.field;
+        MutableInteger z1z1 = registers[16];
+        MutableInteger z2z2 = registers[17];
+        MutableInteger u1 = registers[18];
+        MutableInteger u2 = registers[19];
+        MutableInteger s1 = registers[20];
+        MutableInteger s2 = registers[21];
+        MutableInteger t = registers[22];
+        m.square(z1z1, z1);
+        m.square(z2z2, z2);
+        m.multiply(u1, x1, z2z2);
+        m.multiply(u2, x2, z1z1);
+        m.multiply(s1, y1, z2);
+        m.multiply(s1, s1, z2z2);
+        m.multiply(s2, y2, z1);
+        m.multiply(s2, s2, z1z1);
+        if (MutableInteger.compare(u1, u2) == 0) {
+            if (MutableInteger.compare(s1, s2) == 0) {
+                this.dblJacobian(x1, y1, z1, registers);
             } else {
-                order = order.add(BigInteger.ONE);
+                z1.set(0);
+            }
+            return;
+        }
+        // h = u2 - u1 and r = 2(s2 - s1), held in u2 and s2. Sums that only
+        // feed multiplications are left unreduced; X3, Y3 and Z3 are not.
+        MutableInteger h = u2;
+        MutableInteger r = s2;
+        m.subtractLazy(h, u2, u1);
+        m.subtractLazy(r, s2, s1);
+        m.addLazy(r, r, r);
+        m.addLazy(t, z1, z2);
+        m.square(t, t);
+        m.subtractLazy(t, t, z1z1);
+        m.subtractLazy(t, t, z2z2);
+        m.multiply(z1, t, h);
+        // i = (2h)^2, j = hi and v = u1 i, held in z1z1, z2z2 and u1.
+        MutableInteger i = z1z1;
+        MutableInteger j = z2z2;
+        MutableInteger v = u1;
+        m.addLazy(i, h, h);
+        m.square(i, i);
+        m.multiply(j, h, i);
+        m.multiply(v, u1, i);
+        m.square(x1, r);
+        m.subtract(x1, x1, j);
+        m.subtract(x1, x1, v);
+        m.subtract(x1, x1, v);
+        m.subtractLazy(t, v, x1);
+        m.multiply(t, r, t);
+        m.multiply(s1, s1, j);
+        m.add(s1, s1, s1);
+        m.subtract(y1, t, s1);
+    }
+
+    /**
+     * Adds an affine point to a point on this Curve in Jacobian coordinates,
+     * writing the sum over the Jacobian one, using the madd-2007-bl formulas.
+     * Taking Z2 = 1 saves five multiplications over a general addition.
+     * Whether the points share an x-coordinate is decided by comparing X1
+     * with x2 Z1^2, so the doubling and inverse cases are caught without an
+     * inversion.
+     *
+     * @param x1        The X-coordinate of the Jacobian addend and the sum.
+     * @param y1        The Y-coordinate of the Jacobian addend and the sum.
+     * @param z1        The Z-coordinate of the Jacobian addend and the sum.
+     * @param x2        The x-coordinate of the affine addend.
+     * @param y2        The y-coordinate of the affine addend.
+     * @param registers This thread's registers, whose sixteenth holds one.
+     */
+    private void addMixed(MutableInteger x1, MutableInteger y1,
+                          MutableInteger z1, MutableInteger x2,
+                          MutableInteger y2, MutableInteger[] registers) {
+        if (z1.isZero()) {
+            x1.set(x2);
+            y1.set(y2);
+            z1.set(registers[15]);
+            return;
+        }
+        FieldContext m = this.field;
+        MutableInteger z1z1 = registers[16];
+        MutableInteger h = registers[17];
+        MutableInteger hh = registers[18];
+        MutableInteger s2 = registers[19];
+        MutableInteger j = registers[20];
+        MutableInteger v = registers[21];
+        MutableInteger t = registers[22];
+        m.square(z1z1, z1);
+        m.multiply(h, x2, z1z1);
+        m.multiply(s2, y2, z1);
+        m.multiply(s2, s2, z1z1);
+        // h = x2 Z1^2 - X1 and r = 2(y2 Z1^3 - Y1), with r held in s2.
+        m.subtract(h, h, x1);
+        m.subtract(s2, s2, y1);
+        if (h.isZero()) {
+            if (s2.isZero()) {
+                this.dblJacobian(x1, y1, z1, registers);
+            } else {
+                z1.set(0);
+            }
+            return;
+        }
+        // Sums that only feed multiplications are left unreduced; X3, Y3 and
+        // Z3 are not.
+        m.addLazy(s2, s2, s2);
+        // i = 4 hh, j = hi and v = X1 i, with i held in v.
+        m.square(hh, h);
+        m.addLazy(v, hh, hh);
+        m.addLazy(v, v, v);
+        m.multiply(j, h, v);
+        m.multiply(v, x1, v);
+        m.addLazy(t, z1, h);
+        m.square(t, t);
+        m.subtractLazy(t, t, z1z1);
+        m.subtract(z1, t, hh);
+        m.square(x1, s2);
+        m.subtract(x1, x1, j);
+        m.subtract(x1, x1, v);
+        m.subtract(x1, x1, v);
+        m.subtractLazy(t, v, x1);
+        m.multiply(t, s2, t);
+        m.multiply(j, y1, j);
+        m.add(j, j, j);
+        m.subtract(y1, t, j);
+    }
+
+    /**
+     * Doubles a point on this Curve in Jacobian coordinates, in place. When
+     * a = -3 the numerator of the tangent slope, 3X^2 - 3Z^4, is factored as
+     * 3(X - Z^2)(X + Z^2) (dbl-2001-b); otherwise dbl-2007-bl is used, which
+     * drops the a Z^4 term when a is zero. Doubling The Point At Infinity or
+     * a point of order two yields Z = 0 without a special case.
+     *
+     * @param x         The X-coordinate of the point and its double.
+     * @param y         The Y-coordinate of the point and its double.
+     * @param z         The Z-coordinate of the point and its double.
+     * @param registers This thread's registers.
+     */
+    private void dblJacobian(MutableInteger x, MutableInteger y,
+                             MutableInteger z, MutableInteger[] registers) {
+        if (z.isZero()) {
+            return;
+        }
+        FieldContext m = this.field;
+        MutableInteger t0 = registers[16];
+        MutableInteger t1 = registers[17];
+        MutableInteger t2 = registers[18];
+        MutableInteger t3 = registers[19];
+        MutableInteger t4 = registers[20];
+        MutableInteger t5 = registers[21];
+        if (this.shape == CurveShape.MINUS_THREE) {
+            // delta = Z^2, gamma = Y^2, beta = X gamma in t0, t1 and t2.
+            m.square(t0, z);
+            m.square(t1, y);
+            m.multiply(t2, x, t1);
+            // alpha = 3(X - delta)(X + delta) in t3. Sums that only feed
+            // multiplications are left unreduced; X3, Y3 and Z3 are not.
+            m.subtractLazy(t3, x, t0);
+            m.addLazy(t4, x, t0);
+            m.multiply(t3, t3, t4);
+            m.addLazy(t4, t3, t3);
+            m.addLazy(t3, t4, t3);
+            m.addLazy(t4, y, z);
+            m.square(t4, t4);
+            m.subtractLazy(t4, t4, t1);
+            m.subtract(z, t4, t0);
+            // 4 beta in t2 and 8 beta in t4.
+            m.add(t2, t2, t2);
+            m.add(t2, t2, t2);
+            m.add(t4, t2, t2);
+            m.square(x, t3);
+            m.subtract(x, x, t4);
+            m.subtractLazy(t2, t2, x);
+            m.multiply(t2, t3, t2);
+            m.square(t1, t1);
+            m.add(t1, t1, t1);
+            m.add(t1, t1, t1);
+            m.add(t1, t1, t1);
+            m.subtract(y, t2, t1);
+            return;
+        }
+        // XX, YY, YYYY and ZZ in t0, t1, t2 and t3.
+        m.square(t0, x);
+        m.square(t1, y);
+        m.square(t2, t1);
+        m.square(t3, z);
+        // s = 2((X + YY)^2 - XX - YYYY) in t4. Sums that only feed
+        // multiplications are left unreduced; X3, Y3 and Z3 are not.
+        m.addLazy(t4, x, t1);
+        m.square(t4, t4);
+        m.subtract(t4, t4, t0);
+        m.subtract(t4, t4, t2);
+        m.add(t4, t4, t4);
+        // m = 3 XX + a ZZ^2 in t5.
+        m.addLazy(t5, t0, t0);
+        m.addLazy(t5, t5, t0);
+        if (this.shape != CurveShape.ZERO) {
+            m.square(t0, t3);
+            m.multiply(t0, this.aRegister, t0);
+            m.addLazy(t5, t5, t0);
+        }
+        m.addLazy(t0, y, z);
+        m.square(t0, t0);
+        m.subtractLazy(t0, t0, t1);
+        m.subtract(z, t0, t3);
+        m.square(x, t5);
+        m.subtract(x, x, t4);
+        m.subtract(x, x, t4);
+        m.subtractLazy(t4, t4, x);
+        m.multiply(t4, t5, t4);
+        m.add(t2, t2, t2);
+        m.add(t2, t2, t2);
+        m.add(t2, t2, t2);
+        m.subtract(y, t4, t2);
+    }
+
+    /**
+     * Adds two points on this Curve in homogeneous projective coordinates,
+     * where (X, Y, Z) stands for the affine point (X / Z, Y / Z), writing the
+     * sum over the first. The complete formulas of Renes, Costello and
+     * Batina (Algorithm 1, or Algorithm 7 when a is zero) hold for every
+     * pair of points on a curve without a point of order two, so neither
+     * equal nor opposite points nor The Point At Infinity, (0, 1, 0), need a
+     * branch. The second point may be the same registers as the first.
+     * Sums that only feed multiplications are left unreduced within the
+     * bounds of the field context; the coordinates of the sum are reduced.
+     *
+     * @param x1        The X-coordinate of the first addend and the sum.
+     * @param y1        The Y-coordinate of the first addend and the sum.
+     * @param z1        The Z-coordinate of the first addend and the sum.
+     * @param x2        The X-coordinate of the second addend.
+     * @param y2        The Y-coordinate of the second addend.
+     * @param z2        The Z-coordinate of the second addend.
+     * @param registers This thread's registers.
+     */
+    private void addComplete(MutableInteger x1, MutableInteger y1,
+                             MutableInteger z1, MutableInteger x2,
+                             MutableInteger y2, MutableInteger z2,
+                             MutableInteger[] registers) {
+        FieldContext m = this.field;
+        MutableInteger b3 = this.b3Register;
+        MutableInteger t0 = registers[16];
+        MutableInteger t1 = registers[17];
+        MutableInteger t2 = registers[18];
+        MutableInteger t3 = registers[19];
+        MutableInteger t4 = registers[20];
+        MutableInteger t5 = registers[21];
+        MutableInteger x3 = registers[22];
+        MutableInteger y3 = registers[23];
+        MutableInteger z3 = registers[24];
+        m.multiply(t0, x1, x2);
+        m.multiply(t1, y1, y2);
+        m.multiply(t2, z1, z2);
+        m.addLazy(t3, x1, y1);
+        m.addLazy(t4, x2, y2);
+        m.multiply(t3, t3, t4);
+        m.addLazy(t4, t0, t1);
+        m.subtractLazy(t3, t3, t4);
+        if (this.shape == CurveShape.ZERO) {
+            m.addLazy(t4, y1, z1);
+            m.addLazy(x3, y2, z2);
+            m.multiply(t4, t4, x3);
+            m.addLazy(x3, t1, t2);
+            m.subtractLazy(t4, t4, x3);
+            m.addLazy(x3, x1, z1);
+            m.addLazy(y3, x2, z2);
+            m.multiply(x3, x3, y3);
+            m.addLazy(y3, t0, t2);
+            m.subtractLazy(y3, x3, y3);
+            m.addLazy(x3, t0, t0);
+            m.addLazy(t0, x3, t0);
+            m.multiply(t2, b3, t2);
+            m.addLazy(z3, t1, t2);
+            m.subtractLazy(t1, t1, t2);
+            m.multiply(y3, b3, y3);
+            m.multiply(x3, t4, y3);
+            m.multiply(t2, t3, t1);
+            m.subtract(x3, t2, x3);
+            m.multiply(y3, y3, t0);
+            m.multiply(t1, t1, z3);
+            m.add(y3, t1, y3);
+            m.multiply(t0, t0, t3);
+            m.multiply(z3, z3, t4);
+            m.add(z3, z3, t0);
+        } else {
+            MutableInteger a = this.aRegister;
+            m.addLazy(t4, x1, z1);
+            m.addLazy(t5, x2, z2);
+            m.multiply(t4, t4, t5);
+            m.addLazy(t5, t0, t2);
+            m.subtractLazy(t4, t4, t5);
+            m.addLazy(t5, y1, z1);
+            m.addLazy(x3, y2, z2);
+            m.multiply(t5, t5, x3);
+            m.addLazy(x3, t1, t2);
+            m.subtractLazy(t5, t5, x3);
+            m.multiply(z3, a, t4);
+            m.multiply(x3, b3, t2);
+            m.addLazy(z3, x3, z3);
+            m.subtractLazy(x3, t1, z3);
+            m.addLazy(z3, t1, z3);
+            m.multiply(y3, x3, z3);
+            m.addLazy(t1, t0, t0);
+            m.addLazy(t1, t1, t0);
+            m.multiply(t2, a, t2);
+            m.multiply(t4, b3, t4);
+            m.addLazy(t1, t1, t2);
+            m.subtractLazy(t2, t0, t2);
+            m.multiply(t2, a, t2);
+            m.addLazy(t4, t4, t2);
+            m.multiply(t0, t1, t4);
+            m.add(y3, y3, t0);
+            m.multiply(t0, t5, t4);
+            m.multiply(x3, t3, x3);
+            m.subtract(x3, x3, t0);
+            m.multiply(t0, t3, t1);
+            m.multiply(z3, t5, z3);
+            m.add(z3, z3, t0);
+        }
+        x1.set(x3);
+        y1.set(y3);
+        z1.set(z3);
+    }
+
+    /**
+     * Doubles a point on this Curve in homogeneous projective coordinates, in
+     * place, using the complete doubling formulas of Renes, Costello and
+     * Batina (Algorithm 3, or Algorithm 9 when a is zero). Sums that only
+     * feed multiplications are left unreduced within the bounds of the field
+     * context; the coordinates of the double are reduced.
+     *
+     * @param x         The X-coordinate of the point and its double.
+     * @param y         The Y-coordinate of the point and its double.
+     * @param z         The Z-coordinate of the point and its double.
+     * @param registers This thread's registers.
+     */
+    private void dblComplete(MutableInteger x, MutableInteger y,
+                             MutableInteger z, MutableInteger[] registers) {
+        FieldContext m = this.field;
+        MutableInteger b3 = this.b3Register;
+        MutableInteger t0 = registers[16];
+        MutableInteger t1 = registers[17];
+        MutableInteger t2 = registers[18];
+        MutableInteger t3 = registers[19];
+        MutableInteger x3 = registers[22];
+        MutableInteger y3 = registers[23];
+        MutableInteger z3 = registers[24];
+        if (this.shape == CurveShape.ZERO) {
+            m.square(t0, y);
+            m.addLazy(z3, t0, t0);
+            m.addLazy(z3, z3, z3);
+            m.addLazy(z3, z3, z3);
+            m.multiply(t1, y, z);
+            m.square(t2, z);
+            m.multiply(t2, b3, t2);
+            m.multiply(x3, t2, z3);
+            m.addLazy(y3, t0, t2);
+            m.multiply(z3, t1, z3);
+            m.addLazy(t1, t2, t2);
+            m.addLazy(t2, t1, t2);
+            m.subtractLazy(t0, t0, t2);
+            m.multiply(y3, t0, y3);
+            m.add(y3, x3, y3);
+            m.multiply(t1, x, y);
+            m.multiply(x3, t0, t1);
+            m.add(x3, x3, x3);
+        } else {
+            MutableInteger a = this.aRegister;
+            m.square(t0, x);
+            m.square(t1, y);
+            m.square(t2, z);
+            m.multiply(t3, x, y);
+            m.addLazy(t3, t3, t3);
+            m.multiply(z3, x, z);
+            m.addLazy(z3, z3, z3);
+            m.multiply(x3, a, z3);
+            m.multiply(y3, b3, t2);
+            m.addLazy(y3, x3, y3);
+            m.subtractLazy(x3, t1, y3);
+            m.addLazy(y3, t1, y3);
+            m.multiply(y3, x3, y3);
+            m.multiply(x3, t3, x3);
+            m.multiply(z3, b3, z3);
+            m.multiply(t2, a, t2);
+            m.subtractLazy(t3, t0, t2);
+            m.multiply(t3, a, t3);
+            m.addLazy(t3, t3, z3);
+            m.addLazy(z3, t0, t0);
+            m.addLazy(t0, z3, t0);
+            m.addLazy(t0, t0, t2);
+            m.multiply(t0, t0, t3);
+            m.add(y3, y3, t0);
+            m.multiply(t2, y, z);
+            m.addLazy(t2, t2, t2);
+            m.multiply(t0, t2, t3);
+            m.subtract(x3, x3, t0);
+            m.multiply(z3, t2, t1);
+            m.add(z3, z3, z3);
+            m.add(z3, z3, z3);
+        }
+        x.set(x3);
+        y.set(y3);
+        z.set(z3);
+    }
+
+    /**
+     * Normalizes the entries of the table of multiples in this thread's
+     * registers after the first, which is The Point At Infinity, to affine
+     * coordinates, with one inversion shared by all of them through
+     * Montgomery's trick. Each Z coordinate becomes one, or stays zero for
+     * The Point At Infinity.
+     *
+     * @param count     The number of entries to normalize.
+     * @param registers This thread's registers, whose sixteenth holds one.
+     */
+    private void normalize(int count, MutableInteger[] registers) {
+        FieldContext m = this.field;
+        MutableInteger inverse = registers[16];
+        MutableInteger zInverse = registers[17];
+        MutableInteger t = registers[18];
+        MutableInteger one = registers[15];
+        MutableInteger product = one;
+        boolean finite = false;
+        for (int i = 1; i <= count; i++) {
+            MutableInteger z = registers[TABLE + 4 * i + 2];
+            MutableInteger running = registers[TABLE + 4 * i + 3];
+            if (z.isZero()) {
+                running.set(product);
+            } else {
+                m.multiply(running, product, z);
+                finite = true;
+            }
+            product = running;
+        }
+        if (!finite) {
+            return;
+        }
+        m.invert(inverse, product, registers);
+        for (int i = count; i >= 1; i--) {
+            int entry = TABLE + 4 * i;
+            MutableInteger z = registers[entry + 2];
+            if (z.isZero()) {
+                continue;
+            }
+            MutableInteger before = i > 1 ? registers[entry - 1] : one;
+            m.multiply(zInverse, inverse, before);
+            m.multiply(inverse, inverse, z);
+            m.square(t, zInverse);
+            m.multiply(registers[entry], registers[entry], t);
+            m.multiply(t, t, zInverse);
+            m.multiply(registers[entry + 1], registers[entry + 1], t);
+            z.set(one);
+        }
+    }
+
+    /**
+     * Converts a point on this Curve from Jacobian to affine coordinates with
+     * a single inversion.
+     *
+     * @param x         The X-coordinate of the point.
+     * @param y         The Y-coordinate of the point.
+     * @param z         The Z-coordinate of the point.
+     * @param registers This thread's registers.
+     *
+     * @return The point, as a Point.
+     */
+    private Point toAffine(MutableInteger x, MutableInteger y,
+                           MutableInteger z, MutableInteger[] registers) {
+        if (z.isZero()) {
+            return Point.INFINITY;
+        }
+        FieldContext m = this.field;
+        MutableInteger zInverse = registers[16];
+        MutableInteger t = registers[17];
+        m.invert(zInverse, z, registers);
+        m.square(t, zInverse);
+        m.multiply(x, x, t);
+        m.multiply(t, t, zInverse);
+        m.multiply(y, y, t);
+        return new Point(m.decode(x), m.decode(y));
+    }
+
+    /**
+     * Converts a point on this Curve from homogeneous projective to affine
+     * coordinates with a single inversion.
+     *
+     * @param x         The X-coordinate of the point.
+     * @param y         The Y-coordinate of the point.
+     * @param z         The Z-coordinate of the point.
+     * @param registers This thread's registers.
+     *
+     * @return The point, as a Point.
+     */
+    private Point fromProjective(MutableInteger x, MutableInteger y,
+                                 MutableInteger z,
+                                 MutableInteger[] registers) {
+        if (z.isZero()) {
+            return Point.INFINITY;
+        }
+        FieldContext m = this.field;
+        MutableInteger zInverse = registers[16];
+        m.invert(zInverse, z, registers);
+        m.multiply(x, x, zInverse);
+        m.multiply(y, y, zInverse);
+        return new Point(m.decode(x), m.decode(y));
+    }
+
+    /**
+     * Converts a Point on this Curve to projective coordinates with Z = 1,
+     * which serve as Jacobian and homogeneous coordinates alike, or to
+     * (0, 1, 0) for The Point At Infinity.
+     *
+     * @param x     The register to write the X-coordinate to.
+     * @param y     The register to write the Y-coordinate to.
+     * @param z     The register to write the Z-coordinate to.
+     * @param point The Point to convert.
+     */
+    private void toProjective(MutableInteger x, MutableInteger y,
+                              MutableInteger z, Point point) {
+        FieldContext m = this.field;
+        m.encode(y, BigInteger.ONE);
+        if (point.isInfinity()) {
+            x.set(0);
+            z.set(0);
+            return;
+        }
+        m.encode(x, point.x());
+        z.set(y);
+        m.encode(y, point.y());
+    }
+
+    /**
+     * Writes the multiples p, 2p, ..., count * p of a Point into consecutive
+     * entries of a table. Each entry is one mixed addition from the last,
+     * done in Jacobian coordinates in this thread's registers, and the
+     * entries are normalized to affine coordinates MULTIPLES - 1 at a time
+     * with one shared inversion.
+     *
+     * @param table  The table to write to.
+     * @param offset The index of the entry to write p to.
+     * @param p      The Point to take multiples of.
+     * @param count  The number of multiples.
+     *
+     * @throws IllegalArgumentException If one of the multiples is The Point
+     *                                  At Infinity.
+     */
+    private void fill(PointTable table, int offset, Point p, int count) {
+        if (p.isInfinity()) {
+            throw new IllegalArgumentException(
+                    "The Point At Infinity has no multiples to tabulate");
+        }
+        MutableInteger[] r = this.registers.get();
+        this.toProjective(r[13], r[14], r[15], p);
+        r[12].set(0);
+        for (int from = 0; from < count; from += MULTIPLES - 1) {
+            int chunk = Math.min(MULTIPLES - 1, count - from);
+            for (int i = 1; i <= chunk; i++) {
+                this.addMixed(r[10], r[11], r[12], r[13], r[14], r);
+                r[TABLE + 4 * i].set(r[10]);
+                r[TABLE + 4 * i + 1].set(r[11]);
+                r[TABLE + 4 * i + 2].set(r[12]);
+            }
+            this.normalize(chunk, r);
+            for (int i = 1; i <= chunk; i++) {
+                if (r[TABLE + 4 * i + 2].isZero()) {
+                    throw new IllegalArgumentException(
+                            p + " has order " + (from + i) + ", so it does " +
+                            "not have " + count + " distinct multiples");
+                }
+                table.set(offset + from + i - 1, r[TABLE + 4 * i],
+                          r[TABLE + 4 * i + 1]);
             }
-            t = t.add(BigInteger.ONE);
         }
-        return order;
     }
 
     /**
@@ -228,22 +1717,81 @@ public class Curve {
     }
 
     /**
-     * Performs ElGamal asymmetric encryption for a single byte over this
-     * Curve.
+     * Computes the right-hand side of the equation of this Curve,
+     * x^3 + ax + b, modulo p.
      *
-     * @param cleartext The cleartext, as a byte.
-     * @param Q         The recipients public key, as a Point.
+     * @param x The x-coordinate, as a BigInteger.
      *
-     * @return The ciphertext, as a pair of Points in an array.
+     * @return The value y^2 must take, as a BigInteger.
      */
-    private Point[] encrypt(byte cleartext, Point Q) {
-        BigInteger order = order(this.G);
-        BigInteger k = BigMath.nextRandomBigInteger(order);
-        Point C = this.multiply(this.G, k);
-        Point M = this.map(cleartext);
-        Point kQ = this.multiply(Q, k);
-        Point D = this.add(M, kQ);
-        return new Point[]{C, D};
+    private BigInteger rightHandSide(BigInteger x) {
+        FieldContext m = this.field;
+        MutableInteger[] r = this.registers.get();
+        m.encode(r[6], x);
+        m.square(r[7], r[6]);
+        m.add(r[7], r[7], this.aRegister);
+        m.multiply(r[7], r[7], r[6]);
+        m.add(r[7], r[7], this.bRegister);
+        return m.decode(r[7]);
+    }
+
+    /**
+     * Recovers the Point on this Curve with the given x and parity of y.
+     * Only one square root is taken; if its parity is wrong, the other root
+     * is p minus it.
+     *
+     * @param x   The x-coordinate, as a BigInteger.
+     * @param odd Whether y is odd.
+     *
+     * @return The Point on this Curve.
+     *
+     * @throws IllegalArgumentException If no Point on this Curve has the
+     *                                  given x and parity of y.
+     */
+    private Point decompress(BigInteger x, boolean odd) {
+        BigInteger y = this.sqrt.squareRoot(this.rightHandSide(x));
+        if (y == null || (y.signum() == 0 && odd)) {
+            throw new IllegalArgumentException("Point is not on Curve");
+        } else if (y.testBit(0) != odd) {
+            y = this.p.subtract(y);
+        }
+        return new Point(x, y);
+    }
+
+    /**
+     * Reads a big-endian coordinate of this Curve from an encoding.
+     *
+     * @param encoding The encoding, as an array of bytes.
+     * @param offset   The index of the first byte of the coordinate.
+     * @param length   The number of bytes in the coordinate.
+     *
+     * @return The coordinate, as a BigInteger.
+     *
+     * @throws IllegalArgumentException If the coordinate is not less than p.
+     */
+    private BigInteger coordinate(byte[] encoding, int offset, int length) {
+        BigInteger value = new BigInteger(1, encoding, offset, length);
+        if (value.compareTo(this.p) >= 0) {
+            throw new IllegalArgumentException("Coordinate is not below p");
+        }
+        return value;
+    }
+
+    /**
+     * Writes a coordinate of this Curve into an encoding, big-endian and
+     * padded with leading zeros.
+     *
+     * @param value    The coordinate, as a BigInteger.
+     * @param encoding The encoding, as an array of bytes.
+     * @param offset   The index of the first byte of the coordinate.
+     * @param length   The number of bytes in the coordinate.
+     */
+    private void coordinate(BigInteger value, byte[] encoding, int offset,
+                            int length) {
+        byte[] bytes = value.toByteArray();
+        int count = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - count, encoding,
+                         offset + length - count, count);
     }
 
     /**
@@ -256,16 +1804,10 @@ public class Curve {
      */
     private HashMap<Byte, Point> generateMap() {
         HashMap<Byte, Point> points = new HashMap<>();
-        byte x = Byte.MIN_VALUE;
-        byte z = Byte.MIN_VALUE;
-        while ((points.size() < 256)) {
-            int y = x + 128;
-            Point point = this.multiply(this.G, BigInteger.valueOf(y));
-            if (point != null && !point.equals(Point.INFINITY)) {
-                points.put(z, point);
-                z++;
+        try (PointTable table = this.multiples(this.G, 256)) {
+            for (int i = 0; i < table.size(); i++) {
+                points.put((byte) (i + Byte.MIN_VALUE), this.entry(table, i));
             }
-            x++;
         }
         return points;
     }
@@ -306,6 +1848,20 @@ public class Curve {
         return points.get(b);
     }
 
+    /**
+     * Creates a set of scratch registers for one thread.
+     *
+     * @return The registers, as an array of MutableIntegers.
+     */
+    private MutableInteger[] newRegisters() {
+        MutableInteger[] registers =
+                new MutableInteger[TABLE + 4 * MULTIPLES];
+        for (int i = 0; i < registers.length; i++) {
+            registers[i] = this.field.newRegister();
+        }
+        return registers;
+    }
+
     /**
      * Subtracts two points on this Curve modulo p.
      *
@@ -315,6 +1871,9 @@ public class Curve {
      * @return The difference, as a Point.
      */
     private Point subtract(Point pointA, Point pointB) {
+        if (pointB.isInfinity()) {
+            return pointA;
+        }
         Point pointC = new Point(pointB.x(), pointB.y().negate().mod(this.p));
         return this.add(pointA, pointC);
     }
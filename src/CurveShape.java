@@ -0,0 +1,49 @@
+import java.math.BigInteger;
+
+/**
+ * A CurveShape describes the "a" coefficient of a short Weierstrass curve in
+ * the terms that matter to point doubling. The tangent slope needs 3x^2 + a,
+ * so a = 0 (as on secp256k1) can skip the addition entirely, and a = -3 (as
+ * on the NIST curves) lets projective formulas factor 3x^2 - 3z^4 as
+ * 3(x - z^2)(x + z^2). Every other value needs the general formula.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public enum CurveShape {
+    /**
+     * The "a" coefficient is zero.
+     */
+    ZERO,
+
+    /**
+     * The "a" coefficient is congruent to -3.
+     */
+    MINUS_THREE,
+
+    /**
+     * The "a" coefficient has no special form.
+     */
+    GENERIC;
+
+// Methods
+
+    /**
+     * Classifies the "a" coefficient of a curve.
+     *
+     * @param a The "a" coefficient, as a BigInteger.
+     * @param p The prime number the curve is defined over, as a BigInteger.
+     *
+     * @return The CurveShape of a modulo p.
+     */
+    protected static CurveShape classify(BigInteger a, BigInteger p) {
+        a = a.mod(p);
+        if (a.signum() == 0) {
+            return ZERO;
+        } else if (a.add(BigInteger.valueOf(3)).equals(p)) {
+            return MINUS_THREE;
+        } else {
+            return GENERIC;
+        }
+    }
+}
@@ -0,0 +1,572 @@
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The FieldGenerator is a standalone tool that writes the source of a field
+ * arithmetic class specialized to a single prime. The generated class
+ * extends MontgomeryContext, so a Curve can be handed it in place of the
+ * context FieldContext.forPrime would choose, and replaces its word-by-word
+ * loops with straight-line code: every limb of the operands is held in a
+ * local, every partial product is spelled out with Math.unsignedMultiplyHigh,
+ * and the limbs of p and -p^-1 mod 2^64 are compile-time constants.
+ * <p>
+ * Alongside it, a check class is written whose main method compares the
+ * generated multiplication and squaring against BigInteger arithmetic and a
+ * scalar multiplication against a Curve built with the default context,
+ * exiting with a non-zero status on any mismatch. Both files are meant to be
+ * generated as a build step and compiled with the rest of the sources:
+ * <pre>
+ * java FieldGenerator P256Field
+ *     FFFFFFFF00000001000000000000000000000000FFFFFFFFFFFFFFFFFFFFFFFF src
+ * </pre>
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public class FieldGenerator {
+// Attributes
+
+    /**
+     * The number of random operand pairs the generated check tries.
+     */
+    private static final int CHECK_ROUNDS = 10000;
+
+    /**
+     * The number of hexadecimal digits of p written on each line.
+     */
+    private static final int HEX_DIGITS = 64;
+
+    /**
+     * The certainty with which p is checked to be prime, as used by
+     * BigInteger.isProbablePrime.
+     */
+    private static final int PRIME_CERTAINTY = 100;
+
+    /**
+     * The format of the date in the generated classes' version tags.
+     */
+    private static final DateTimeFormatter VERSION_FORMAT =
+            DateTimeFormatter.ofPattern("MM/dd/yyyy");
+
+    /**
+     * The name of the class to generate.
+     */
+    private final String name;
+
+    /**
+     * The prime to specialize to, as a BigInteger.
+     */
+    private final BigInteger p;
+
+    /**
+     * The number of 64-bit words in p.
+     */
+    private final int n;
+
+    /**
+     * The date the generator was constructed, as written in the version tags
+     * of the classes it generates.
+     */
+    private final String version;
+
+    /**
+     * The source being generated.
+     */
+    private final StringBuilder out = new StringBuilder();
+
+// Constructors
+
+    /**
+     * Constructs a new generator for the given class name and prime.
+     *
+     * @param name The name of the class to generate.
+     * @param p    The odd prime to specialize to, as a BigInteger.
+     *
+     * @throws IllegalArgumentException If p is not an odd prime.
+     */
+    protected FieldGenerator(String name, BigInteger p) {
+        if (!p.testBit(0) || !p.isProbablePrime(PRIME_CERTAINTY)) {
+            throw new IllegalArgumentException(
+                    "The modulus must be an odd prime, not " + p);
+        }
+        this.name = name;
+        this.p = p;
+        this.n = (p.bitLength() + 63) / 64;
+        this.version = LocalDate.now().format(VERSION_FORMAT);
+    }
+
+// Methods
+
+    /**
+     * Writes a specialized field class and its check class for a prime.
+     *
+     * @param args The name of the class to generate, the prime in
+     *             hexadecimal, and optionally the directory to write to,
+     *             which defaults to the working directory.
+     *
+     * @throws IOException If a source file could not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException(
+                    "Usage: java FieldGenerator <class name> <prime in hex> " +
+                    "[output directory]");
+        }
+        FieldGenerator generator =
+                new FieldGenerator(args[0], new BigInteger(args[1], 16));
+        Path directory = Path.of(args.length == 3 ? args[2] : ".");
+        Files.writeString(directory.resolve(args[0] + ".java"),
+                          generator.field());
+        Files.writeString(directory.resolve(args[0] + "Check.java"),
+                          generator.check());
+    }
+
+    /**
+     * Generates the source of the specialized field class.
+     *
+     * @return The source, as a String.
+     */
+    protected String field() {
+        this.out.setLength(0);
+        long[] words = this.words(this.p);
+        long inverse = BigInteger.ONE.shiftLeft(64).subtract(
+                this.p.modInverse(BigInteger.ONE.shiftLeft(64))).longValue();
+        this.line(0, "import java.math.BigInteger;");
+        this.line(0, "");
+        this.line(0, "/**");
+        this.line(0, " * A " + this.name + " does Montgomery arithmetic " +
+                     "modulo a single prime with");
+        this.line(0, " * fully unrolled multiplication, squaring and " +
+                     "reduction. It was written by");
+        this.line(0, " * FieldGenerator and should be regenerated rather " +
+                     "than edited.");
+        this.line(0, " *");
+        this.line(0, " * @author FieldGenerator");
+        this.line(0, " * @version " + this.version);
+        this.line(0, " */");
+        this.line(0, "public class " + this.name +
+                     " extends MontgomeryContext {");
+        this.line(0, "// Attributes");
+        this.line(0, "");
+        this.doc(1, "The prime number this field is defined over, as a " +
+                    "BigInteger.");
+        this.line(1, "protected static final BigInteger P = new BigInteger(");
+        String hex = this.p.toString(16).toUpperCase();
+        for (int i = 0; i < hex.length(); i += HEX_DIGITS) {
+            String digits = hex.substring(i, Math.min(hex.length(),
+                                                      i + HEX_DIGITS));
+            this.line(3, "\"" + digits + "\"" +
+                         (i + HEX_DIGITS < hex.length() ? " +" : ","));
+        }
+        this.line(3, "16);");
+        for (int i = 0; i < this.n; i++) {
+            this.line(0, "");
+            this.doc(1, "Word " + i + " of p, least significant first.");
+            this.line(1, "private static final long P" + i + " = " +
+                         this.hex(words[i]) + ";");
+        }
+        this.line(0, "");
+        this.doc(1, "-p^-1 mod 2^64, used by Montgomery reduction.");
+        this.line(1, "private static final long P_INVERSE = " +
+                     this.hex(inverse) + ";");
+        this.line(0, "");
+        this.line(0, "// Constructors");
+        this.line(0, "");
+        this.doc(1, "Constructs a new context for p.");
+        this.line(1, "public " + this.name + "() {");
+        this.line(2, "super(P);");
+        this.line(1, "}");
+        this.line(0, "");
+        this.line(0, "// Methods");
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Creates a register for values modulo p, with " +
+                     "scratch space for a");
+        this.line(1, " * double-width product.");
+        this.line(1, " *");
+        this.line(1, " * @return A new MutableInteger, equal to zero.");
+        this.line(1, " */");
+        this.line(1, "@Override");
+        this.line(1, "protected MutableInteger newRegister() {");
+        this.line(2, "return new MutableInteger(" + this.n + ", " +
+                     Math.max(2 * this.n, this.n + 2) + ");");
+        this.line(1, "}");
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Sets r to abR^-1 mod p.");
+        this.line(1, " *");
+        this.line(1, " * @param r The register to write the product to, " +
+                     "which may be a or b.");
+        this.line(1, " * @param a The first factor, of magnitude at most " +
+                     "maxMagnitude().");
+        this.line(1, " * @param b The second factor, of magnitude at most " +
+                     "maxMagnitude().");
+        this.line(1, " */");
+        this.line(1, "@Override");
+        this.line(1, "protected void multiply(MutableInteger r, " +
+                     "MutableInteger a,");
+        this.line(7, "MutableInteger b) {");
+        this.load("a");
+        this.load("b");
+        this.declare();
+        for (int i = 0; i < this.n; i++) {
+            this.line(2, "c = 0;");
+            for (int j = 0; j < this.n; j++) {
+                this.multiplyAdd(i + j, "a" + i, "b" + j, i > 0);
+            }
+            this.line(2, "t" + (i + this.n) + " = c;");
+        }
+        this.store();
+        this.line(1, "}");
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Sets r to a^2 R^-1 mod p.");
+        this.line(1, " *");
+        this.line(1, " * @param r The register to write the square to, " +
+                     "which may be a.");
+        this.line(1, " * @param a The value to square, of magnitude at most " +
+                     "maxMagnitude().");
+        this.line(1, " */");
+        this.line(1, "@Override");
+        this.line(1, "protected void square(MutableInteger r, " +
+                     "MutableInteger a) {");
+        this.load("a");
+        this.declare();
+        // The products above the diagonal, which are then doubled.
+        for (int i = 0; i < this.n - 1; i++) {
+            this.line(2, "c = 0;");
+            for (int j = i + 1; j < this.n; j++) {
+                this.multiplyAdd(i + j, "a" + i, "a" + j, i > 0);
+            }
+            this.line(2, "t" + (i + this.n) + " = c;");
+        }
+        for (int i = 2 * this.n - 1; i > 0; i--) {
+            this.line(2, "t" + i + " = (t" + i + " << 1) | (t" + (i - 1) +
+                         " >>> 63);");
+        }
+        this.line(2, "t0 <<= 1;");
+        // The squares on the diagonal.
+        this.line(2, "c = 0;");
+        for (int i = 0; i < this.n; i++) {
+            int low = 2 * i;
+            int high = low + 1;
+            this.line(2, "lo = a" + i + " * a" + i + ";");
+            this.line(2, "hi = Math.unsignedMultiplyHigh(a" + i + ", a" + i +
+                         ");");
+            this.line(2, "lo += c;");
+            this.line(2, "hi += Long.compareUnsigned(lo, c) >>> 31;");
+            this.line(2, "t" + low + " += lo;");
+            this.line(2, "hi += Long.compareUnsigned(t" + low + ", lo) " +
+                         ">>> 31;");
+            this.line(2, "t" + high + " += hi;");
+            this.line(2, "c = Long.compareUnsigned(t" + high + ", hi) " +
+                         ">>> 31;");
+        }
+        this.store();
+        this.line(1, "}");
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Sets r to tR^-1 mod p, where t is the double-width " +
+                     "product in the");
+        this.line(1, " * scratch words of r.");
+        this.line(1, " *");
+        this.line(1, " * @param r The register holding t and to write the " +
+                     "result to.");
+        this.line(1, " */");
+        this.line(1, "private static void reduce(MutableInteger r) {");
+        this.line(2, "long[] s = r.scratch;");
+        for (int i = 0; i < 2 * this.n; i++) {
+            this.line(2, "long t" + i + " = s[" + i + "];");
+        }
+        this.line(2, "long c;");
+        this.line(2, "long lo;");
+        this.line(2, "long hi;");
+        this.reduce();
+        this.line(1, "}");
+        this.line(0, "}");
+        return this.out.toString();
+    }
+
+    /**
+     * Generates the source of the check class for the specialized field
+     * class.
+     *
+     * @return The source, as a String.
+     */
+    protected String check() {
+        this.out.setLength(0);
+        String check = this.name + "Check";
+        this.line(0, "import java.math.BigInteger;");
+        this.line(0, "import java.util.Random;");
+        this.line(0, "");
+        this.line(0, "/**");
+        this.line(0, " * The " + check + " class compares " + this.name +
+                     " against BigInteger");
+        this.line(0, " * arithmetic. It was written by FieldGenerator and " +
+                     "should be regenerated");
+        this.line(0, " * rather than edited.");
+        this.line(0, " *");
+        this.line(0, " * @author FieldGenerator");
+        this.line(0, " * @version " + this.version);
+        this.line(0, " */");
+        this.line(0, "public class " + check + " {");
+        this.line(0, "// Methods");
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Runs the check, exiting with status 1 on the first " +
+                     "mismatch.");
+        this.line(1, " *");
+        this.line(1, " * @param args Unused.");
+        this.line(1, " */");
+        this.line(1, "public static void main(String[] args) {");
+        this.line(2, "BigInteger p = " + this.name + ".P;");
+        this.line(2, this.name + " field = new " + this.name + "();");
+        this.line(2, "MutableInteger a = field.newRegister();");
+        this.line(2, "MutableInteger b = field.newRegister();");
+        this.line(2, "MutableInteger r = field.newRegister();");
+        this.line(2, "Random random = new Random(1);");
+        this.line(2, "BigInteger[] edges = {BigInteger.ZERO, BigInteger.ONE,");
+        this.line(4, "p.subtract(BigInteger.ONE),");
+        this.line(4, "p.shiftRight(1)};");
+        this.line(2, "for (int i = 0; i < " + CHECK_ROUNDS + "; i++) {");
+        this.line(3, "BigInteger x = i < edges.length * edges.length ?");
+        this.line(5, "edges[i / edges.length] :");
+        this.line(5, "new BigInteger(p.bitLength(), random).mod(p);");
+        this.line(3, "BigInteger y = i < edges.length * edges.length ?");
+        this.line(5, "edges[i % edges.length] :");
+        this.line(5, "new BigInteger(p.bitLength(), random).mod(p);");
+        this.line(3, "field.encode(a, x);");
+        this.line(3, "field.encode(b, y);");
+        this.line(3, "field.multiply(r, a, b);");
+        this.line(3, "expect(\"multiply\", x, y, field.decode(r),");
+        this.line(5, "x.multiply(y).mod(p));");
+        this.line(3, "field.square(r, a);");
+        this.line(3, "expect(\"square\", x, x, field.decode(r),");
+        this.line(5, "x.multiply(x).mod(p));");
+        this.line(3, "field.addLazy(r, a, a);");
+        this.line(3, "field.addLazy(r, r, a);");
+        this.line(3, "field.subtractLazy(r, r, b);");
+        this.line(3, "field.multiply(r, r, r);");
+        this.line(3, "BigInteger lazy = x.multiply(BigInteger.valueOf(3))" +
+                     ".subtract(y);");
+        this.line(3, "expect(\"multiply\", lazy, lazy, field.decode(r),");
+        this.line(5, "lazy.multiply(lazy).mod(p));");
+        this.line(2, "}");
+        this.line(2, "// A scalar multiplication on a random curve over p, " +
+                     "against the");
+        this.line(2, "// context the Curve would choose for itself.");
+        this.line(2, "BigInteger curveA = new BigInteger(p.bitLength(), " +
+                     "random).mod(p);");
+        this.line(2, "BigInteger curveB = new BigInteger(p.bitLength(), " +
+                     "random).mod(p);");
+        this.line(2, "Curve reference = new Curve(curveA, curveB, p, null);");
+        this.line(2, "Point[] points = null;");
+        this.line(2, "while (points == null) {");
+        this.line(3, "points = reference.computePoint(");
+        this.line(5, "new BigInteger(p.bitLength(), random).mod(p));");
+        this.line(2, "}");
+        this.line(2, "Curve curve = new Curve(curveA, curveB, p, points[0], " +
+                     "field);");
+        this.line(2, "BigInteger k = new BigInteger(64, random);");
+        this.line(2, "Point expected = reference.multiply(points[0], k);");
+        this.line(2, "Point actual = curve.multiply(points[0], k);");
+        this.line(2, "if (!actual.equals(expected)) {");
+        this.line(3, "System.out.println(\"multiply(\" + points[0] + \", \" " +
+                     "+ k + \") = \" +");
+        this.line(5, "actual + \", expected \" + expected);");
+        this.line(3, "System.exit(1);");
+        this.line(2, "}");
+        this.line(2, "System.out.println(\"" + this.name + " ok\");");
+        this.line(1, "}");
+        this.line(0, "");
+        this.line(1, "/**");
+        this.line(1, " * Exits with status 1 if a result does not match its " +
+                     "expected value.");
+        this.line(1, " *");
+        this.line(1, " * @param operation The name of the operation.");
+        this.line(1, " * @param x         The first operand, as a " +
+                     "BigInteger.");
+        this.line(1, " * @param y         The second operand, as a " +
+                     "BigInteger.");
+        this.line(1, " * @param actual    The result, as a BigInteger.");
+        this.line(1, " * @param expected  The expected result, as a " +
+                     "BigInteger.");
+        this.line(1, " */");
+        this.line(1, "private static void expect(String operation, " +
+                     "BigInteger x, BigInteger y,");
+        this.line(0, " ".repeat(31) +
+                     "BigInteger actual, BigInteger expected) {");
+        this.line(2, "if (!actual.equals(expected)) {");
+        this.line(3, "System.out.println(operation + \"(\" + x + \", \" + y " +
+                     "+ \") = \" +");
+        this.line(5, "actual + \", expected \" + expected);");
+        this.line(3, "System.exit(1);");
+        this.line(2, "}");
+        this.line(1, "}");
+        this.line(0, "}");
+        return this.out.toString();
+    }
+
+    /**
+     * Emits the declarations of the product words t0 to t(2n - 1), the carry
+     * and the halves of a partial product.
+     */
+    private void declare() {
+        for (int i = 0; i < 2 * this.n; i++) {
+            this.line(2, "long t" + i + " = 0;");
+        }
+        this.line(2, "long c;");
+        this.line(2, "long lo;");
+        this.line(2, "long hi;");
+    }
+
+    /**
+     * Emits a javadoc comment of a single sentence.
+     *
+     * @param indent The indentation level, in steps of four spaces.
+     * @param text   The sentence.
+     */
+    private void doc(int indent, String text) {
+        this.line(indent, "/**");
+        this.line(indent, " * " + text);
+        this.line(indent, " */");
+    }
+
+    /**
+     * Formats a word as a Java long literal.
+     *
+     * @param word The word.
+     *
+     * @return The literal, in hexadecimal.
+     */
+    private String hex(long word) {
+        return "0x" + Long.toHexString(word).toUpperCase() + "L";
+    }
+
+    /**
+     * Emits a line of source.
+     *
+     * @param indent The indentation level, in steps of four spaces.
+     * @param text   The line, without indentation.
+     */
+    private void line(int indent, String text) {
+        if (!text.isEmpty()) {
+            this.out.append("    ".repeat(indent));
+        }
+        this.out.append(text).append('\n');
+    }
+
+    /**
+     * Emits the loads of a register's words into locals.
+     *
+     * @param register The name of the register, which also names the locals.
+     */
+    private void load(String register) {
+        for (int i = 0; i < this.n; i++) {
+            this.line(2, "long " + register + i + " = " + register +
+                         ".words[" + i + "];");
+        }
+    }
+
+    /**
+     * Emits the addition of a partial product and the running carry to a
+     * product word, leaving the high half in the carry.
+     *
+     * @param t           The index of the product word.
+     * @param x           The expression of the first factor.
+     * @param y           The expression of the second factor.
+     * @param accumulated Whether the product word may already be non-zero.
+     */
+    private void multiplyAdd(int t, String x, String y, boolean accumulated) {
+        this.line(2, "lo = " + x + " * " + y + ";");
+        this.line(2, "hi = Math.unsignedMultiplyHigh(" + x + ", " + y + ");");
+        if (accumulated) {
+            this.line(2, "lo += t" + t + ";");
+            this.line(2, "hi += Long.compareUnsigned(lo, t" + t + ") >>> 31;");
+        }
+        this.line(2, "lo += c;");
+        this.line(2, "hi += Long.compareUnsigned(lo, c) >>> 31;");
+        this.line(2, "t" + t + " = lo;");
+        this.line(2, "c = hi;");
+    }
+
+    /**
+     * Emits the Montgomery reduction of the locals t0 to t(2n - 1), one word
+     * at a time, followed by the final conditional subtraction of p and the
+     * store to r.
+     */
+    private void reduce() {
+        this.line(2, "long m;");
+        this.line(2, "long over = 0;");
+        for (int i = 0; i < this.n; i++) {
+            this.line(2, "m = t" + i + " * P_INVERSE;");
+            this.line(2, "c = 0;");
+            for (int j = 0; j < this.n; j++) {
+                this.multiplyAdd(i + j, "m", "P" + j, true);
+            }
+            // The carry out of the top word is held back until the next
+            // word takes its own carry.
+            int top = i + this.n;
+            this.line(2, "t" + top + " += c;");
+            this.line(2, "c = Long.compareUnsigned(t" + top + ", c) >>> 31;");
+            this.line(2, "t" + top + " += over;");
+            this.line(2, "over = c + (Long.compareUnsigned(t" + top +
+                         ", over) >>> 31);");
+        }
+        // t(n) to t(2n - 1) and over now hold a value below 2p.
+        this.line(2, "long borrow = 0;");
+        this.line(2, "long d;");
+        for (int i = 0; i < this.n; i++) {
+            int t = i + this.n;
+            this.line(2, "d = t" + t + " - P" + i + ";");
+            this.line(2, "c = Long.compareUnsigned(t" + t + ", P" + i +
+                         ") >>> 31;");
+            this.line(2, "t" + i + " = d - borrow;");
+            this.line(2, "borrow = c | (Long.compareUnsigned(d, borrow) " +
+                         ">>> 31);");
+        }
+        this.line(2, "if (over != 0 || borrow == 0) {");
+        for (int i = 0; i < this.n; i++) {
+            this.line(3, "r.words[" + i + "] = t" + i + ";");
+        }
+        this.line(2, "} else {");
+        for (int i = 0; i < this.n; i++) {
+            this.line(3, "r.words[" + i + "] = t" + (i + this.n) + ";");
+        }
+        this.line(2, "}");
+        this.line(2, "r.magnitude = 1;");
+    }
+
+    /**
+     * Emits the store of the product words t0 to t(2n - 1) to the scratch
+     * words of r and the call that reduces them. Reduction lives in a method
+     * of its own so that neither half grows past the size HotSpot is willing
+     * to compile, which the widest primes would otherwise exceed.
+     */
+    private void store() {
+        this.line(2, "long[] s = r.scratch;");
+        for (int i = 0; i < 2 * this.n; i++) {
+            this.line(2, "s[" + i + "] = t" + i + ";");
+        }
+        this.line(2, "reduce(r);");
+    }
+
+    /**
+     * Splits a value into 64-bit words.
+     *
+     * @param x The value, as a BigInteger.
+     *
+     * @return The n words of x, least significant first.
+     */
+    private long[] words(BigInteger x) {
+        long[] words = new long[this.n];
+        for (int i = 0; i < this.n; i++) {
+            words[i] = x.shiftRight(64 * i).longValue();
+        }
+        return words;
+    }
+}
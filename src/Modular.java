@@ -1,4 +1,5 @@
 import java.math.BigInteger;
+import java.util.Arrays;
 
 /**
  * Modular contains static methods for doing modular arithmetic on BigIntegers,
@@ -7,105 +8,417 @@ import java.math.BigInteger;
  * URL</a>.
  *
  * @author Sam K
- * @version 1/28/2025
+ * @version 10/18/2026
  */
 public class Modular {
 // Methods
 
     /**
-     * Calculates square root of residue modulo a prime.
+     * Inverts every value in an array modulo a prime using Montgomery's trick:
+     * the running products of the values are inverted once and then unwound,
+     * so n inversions cost one inversion and 3(n-1) multiplications. Values
+     * congruent to zero have no inverse; they are skipped and reported as
+     * zero.
      *
-     * @param residue The residue, as a BigInteger.
-     * @param p       The prime, as a BigInteger.
+     * @param values The values to invert, as an array of BigIntegers.
+     * @param p      The prime, as a BigInteger.
      *
-     * @return The square root of residue mod p or null if none can be found.
+     * @return The inverses of values mod p, as an array of BigIntegers with
+     * zero in place of any value that is congruent to zero.
      */
-    protected static BigInteger squareRootModP(BigInteger residue,
+    protected static BigInteger[] batchInverse(BigInteger[] values,
                                                BigInteger p) {
-        BigInteger zero = BigInteger.ZERO;
-        BigInteger one = BigInteger.ONE;
-        BigInteger two = BigInteger.TWO;
+        BigInteger[] inverses = new BigInteger[values.length];
+        BigInteger[] reduced = new BigInteger[values.length];
+        BigInteger product = BigInteger.ONE;
+        for (int i = 0; i < values.length; i++) {
+            reduced[i] = values[i].mod(p);
+            if (reduced[i].signum() != 0) {
+                product = product.multiply(reduced[i]).mod(p);
+            }
+            // Until unwound, each slot holds the product of everything before
+            // it.
+            inverses[i] = product;
+        }
+        BigInteger inverse = modInverse(product, p);
+        for (int i = values.length - 1; i >= 0; i--) {
+            if (reduced[i].signum() == 0) {
+                inverses[i] = BigInteger.ZERO;
+                continue;
+            }
+            BigInteger before = i > 0 ? inverses[i - 1] : BigInteger.ONE;
+            inverses[i] = inverse.multiply(before).mod(p);
+            inverse = inverse.multiply(reduced[i]).mod(p);
+        }
+        return inverses;
+    }
 
-        if (p.mod(two).compareTo(zero) == 0) {
-            return null;
+    /**
+     * Inverts every element in an array of secp256k1 field elements using
+     * Montgomery's trick, with one field inversion in total. Zero elements are
+     * skipped and reported as zero.
+     *
+     * @param values The elements to invert, as an array of
+     *               SECP256K1FieldElements.
+     *
+     * @return The inverses, as an array of SECP256K1FieldElements with zero in
+     * place of any zero element.
+     */
+    protected static SECP256K1FieldElement[] batchInverse(
+            SECP256K1FieldElement[] values) {
+        SECP256K1FieldElement[] inverses =
+                new SECP256K1FieldElement[values.length];
+        SECP256K1FieldElement product = SECP256K1FieldElement.ONE;
+        for (int i = 0; i < values.length; i++) {
+            if (!values[i].isZero()) {
+                product = product.multiply(values[i]);
+            }
+            inverses[i] = product;
+        }
+        SECP256K1FieldElement inverse = product.invert();
+        for (int i = values.length - 1; i >= 0; i--) {
+            if (values[i].isZero()) {
+                inverses[i] = SECP256K1FieldElement.ZERO;
+                continue;
+            }
+            SECP256K1FieldElement before =
+                    i > 0 ? inverses[i - 1] : SECP256K1FieldElement.ONE;
+            inverses[i] = inverse.multiply(before);
+            inverse = inverse.multiply(values[i]);
         }
+        return inverses;
+    }
 
-        BigInteger q = (p.subtract(one)).divide(two);
+    /**
+     * Finds the non residue of the prime p
+     *
+     * @param p The prime number, as a BigInteger.
+     *
+     * @return The non residue of p as a BigInteger, or null if one could not be
+     * found.
+     */
+    protected static BigInteger findNonResidue(BigInteger p) {
+        int a = 2;
+        while (true) {
+            if (jacobi(BigInteger.valueOf(a), p) == -1) {
+                return BigInteger.valueOf(a);
+            }
+            if (a == 0) {
+                return null;
+            }
+            a++;
+        }
+    }
 
-        if (residue.modPow(q, p).compareTo(one) != 0) {
-            return null;
+    /**
+     * Computes the Jacobi symbol (a/n), which for a prime n is the Legendre
+     * symbol: 1 if a is a non-zero square mod n, -1 if it is not a square and
+     * 0 if n divides a. Factors of two are stripped with shifts and the
+     * operands are swapped by quadratic reciprocity, so the cost is close to
+     * that of a GCD rather than a modular exponentiation.
+     *
+     * @param a The value to test, as a BigInteger.
+     * @param n The odd positive modulus, as a BigInteger.
+     *
+     * @return The Jacobi symbol (a/n), as -1, 0 or 1.
+     */
+    protected static int jacobi(BigInteger a, BigInteger n) {
+        a = a.mod(n);
+        int t = 1;
+        while (a.signum() != 0) {
+            int zeros = a.getLowestSetBit();
+            a = a.shiftRight(zeros);
+            int nMod8 = n.intValue() & 7;
+            if ((zeros & 1) != 0 && (nMod8 == 3 || nMod8 == 5)) {
+                t = -t;
+            }
+            if ((a.intValue() & 3) == 3 && (nMod8 & 3) == 3) {
+                t = -t;
+            }
+            BigInteger r = n.mod(a);
+            n = a;
+            a = r;
         }
+        return n.equals(BigInteger.ONE) ? t : 0;
+    }
 
-        while (q.mod(two).compareTo(zero) == 0) {
-            q = q.divide(two);
-            if (residue.modPow(q, p).compareTo(one) != 0) {
-                return exponentSquareRootModP(residue, q, p);
+    /**
+     * Computes the Jacobi symbol (a/n) for fixed-width operands using the
+     * binary algorithm, which only needs shifts, comparisons and
+     * subtractions on the limbs. Both arrays are overwritten.
+     *
+     * @param a The limbs of the value to test, least significant first.
+     * @param n The limbs of the odd modulus, least significant first, with
+     *          the same length as a and n > a.
+     *
+     * @return The Jacobi symbol (a/n), as -1, 0 or 1.
+     */
+    protected static int jacobi(long[] a, long[] n) {
+        int t = 1;
+        while (!isZero(a)) {
+            int zeros = shiftOutZeros(a);
+            int nMod8 = (int) n[0] & 7;
+            if ((zeros & 1) != 0 && (nMod8 == 3 || nMod8 == 5)) {
+                t = -t;
+            }
+            if (compare(a, n) < 0) {
+                long[] swap = a;
+                a = n;
+                n = swap;
+                if ((a[0] & 3) == 3 && (n[0] & 3) == 3) {
+                    t = -t;
+                }
+            }
+            subtract(a, n);
+        }
+        for (int i = 1; i < n.length; i++) {
+            if (n[i] != 0) {
+                return 0;
             }
         }
+        return n[0] == 1 ? t : 0;
+    }
 
-        q = (q.add(one)).divide(two);
-        return residue.modPow(q, p);
+    /**
+     * Inverts a value modulo m. Odd moduli of up to 256 bits, which covers
+     * every curve in this project, use the constant-time safegcd algorithm on
+     * fixed-width limbs; anything else falls back to BigInteger.modInverse.
+     * The safegcd context is built afresh for m on every call, so callers
+     * that invert many values modulo one fixed modulus should hold their own.
+     *
+     * @param a The value to invert, as a BigInteger.
+     * @param m The modulus, as a BigInteger.
+     *
+     * @return The inverse of a mod m, as a BigInteger.
+     *
+     * @throws ArithmeticException If a is not invertible mod m.
+     */
+    protected static BigInteger modInverse(BigInteger a, BigInteger m) {
+        if (m.testBit(0) && m.bitLength() <= 256 && m.bitLength() > 1) {
+            return new SafeGcdContext(m).invert(a);
+        }
+        return a.modInverse(m);
     }
 
     /**
-     * Calculates square root of residue modulo a prime using a start exponent
-     * q.
+     * Calculates square root of residue modulo a prime. The square root
+     * context is built afresh for p on every call, so callers that take many
+     * square roots modulo one fixed prime should hold their own, as Curve
+     * does.
      *
      * @param residue The residue, as a BigInteger.
-     * @param q       The exponent, as a BigInteger.
      * @param p       The prime, as a BigInteger.
      *
-     * @return square root of res mod p or null if none can be found
+     * @return The square root of residue mod p or null if none can be found.
      */
-    private static BigInteger exponentSquareRootModP(BigInteger residue,
-                                                     BigInteger q,
-                                                     BigInteger p) {
-        BigInteger a = findNonResidue(p);
-        if (a == null) {
+    protected static BigInteger squareRootModP(BigInteger residue,
+                                               BigInteger p) {
+        if (!p.testBit(0)) {
             return null;
         }
-        BigInteger zero = BigInteger.ZERO;
-        BigInteger one = BigInteger.ONE;
-        BigInteger two = BigInteger.TWO;
-        BigInteger t = (p.subtract(one)).divide(two);
-        BigInteger negativePower = t;
+        return new SqrtContext(p).squareRoot(residue);
+    }
+
+    /**
+     * Determines whether x^3 + ax + b has a root modulo a prime, that is
+     * whether the curve y^2 = x^3 + ax + b has a point of order two. The
+     * roots of the cubic are exactly its linear factors in common with
+     * x^p - x, the product of x - r over every r mod p, so the cubic has one
+     * if the greatest common divisor of the two polynomials is not constant.
+     * x^p is only ever needed modulo the cubic, so it is computed by
+     * square-and-multiply on polynomials of degree at most two.
+     *
+     * @param a The coefficient of x, as a BigInteger.
+     * @param b The constant term, as a BigInteger.
+     * @param p The odd prime, as a BigInteger.
+     *
+     * @return True if the cubic has a root mod p, False otherwise.
+     */
+    protected static boolean cubicHasRoot(BigInteger a, BigInteger b,
+                                          BigInteger p) {
+        BigInteger[] cubic = trim(new BigInteger[]{b.mod(p), a.mod(p),
+                                                   BigInteger.ZERO,
+                                                   BigInteger.ONE});
+        BigInteger[] x = {BigInteger.ZERO, BigInteger.ONE};
+        BigInteger[] power = {BigInteger.ONE};
+        for (int i = p.bitLength() - 1; i >= 0; i--) {
+            power = remainder(multiply(power, power, p), cubic, p);
+            if (p.testBit(i)) {
+                power = remainder(multiply(power, x, p), cubic, p);
+            }
+        }
+        BigInteger[] u = cubic;
+        BigInteger[] v = subtract(power, x, p);
+        while (v.length > 0) {
+            BigInteger[] w = remainder(u, v, p);
+            u = v;
+            v = w;
+        }
+        return u.length > 1;
+    }
 
-        while (q.mod(two).compareTo(zero) == 0) {
-            q = q.divide(two);
-            t = t.divide(two);
-            if (residue.modPow(q, p).compareTo(a.modPow(t, p)) != 0) {
-                t = t.add(negativePower);
+    /**
+     * Compares two unsigned fixed-width values.
+     *
+     * @param a The limbs of the first value, least significant first.
+     * @param b The limbs of the second value, least significant first.
+     *
+     * @return A negative number, zero or a positive number as a is less
+     * than, equal to or greater than b.
+     */
+    private static int compare(long[] a, long[] b) {
+        for (int i = a.length - 1; i >= 0; i--) {
+            int c = Long.compareUnsigned(a[i], b[i]);
+            if (c != 0) {
+                return c;
             }
         }
-        BigInteger inverseResidue = residue.modInverse(p);
-        q = (q.subtract(one)).divide(two);
+        return 0;
+    }
 
-        t = t.divide(two);
+    /**
+     * Determines whether a fixed-width value is zero.
+     *
+     * @param a The limbs of the value.
+     *
+     * @return True if every limb is zero, False otherwise.
+     */
+    private static boolean isZero(long[] a) {
+        long bits = 0;
+        for (long limb : a) {
+            bits |= limb;
+        }
+        return bits == 0;
+    }
 
-        return inverseResidue.modPow(q, p).multiply(a.modPow(t, p)).mod(p);
+    /**
+     * Shifts a non-zero fixed-width value right until it is odd.
+     *
+     * @param a The limbs of the value, modified in place.
+     *
+     * @return The number of bits shifted out.
+     */
+    private static int shiftOutZeros(long[] a) {
+        int words = 0;
+        while (a[words] == 0) {
+            words++;
+        }
+        int bits = Long.numberOfTrailingZeros(a[words]);
+        for (int i = 0; i < a.length; i++) {
+            long low = i + words < a.length ? a[i + words] : 0;
+            long high = i + words + 1 < a.length ? a[i + words + 1] : 0;
+            a[i] = bits == 0 ? low : (low >>> bits) | (high << (64 - bits));
+        }
+        return 64 * words + bits;
     }
 
     /**
-     * Finds the non residue of the prime p
+     * Subtracts one fixed-width value from another in place.
      *
-     * @param p The prime number, as a BigInteger.
+     * @param a The limbs of the minuend, replaced by the difference.
+     * @param b The limbs of the subtrahend, which must not exceed a.
+     */
+    private static void subtract(long[] a, long[] b) {
+        long borrow = 0;
+        for (int i = 0; i < a.length; i++) {
+            long difference = a[i] - b[i] - borrow;
+            borrow = (Long.compareUnsigned(a[i], b[i]) < 0 ||
+                      (a[i] == b[i] && borrow != 0)) ? 1 : 0;
+            a[i] = difference;
+        }
+    }
+
+    /**
+     * Multiplies two polynomials modulo p.
      *
-     * @return The non residue of p as a BigInteger, or null if one could not be
-     * found.
+     * @param u The coefficients of the first polynomial, constant first.
+     * @param v The coefficients of the second polynomial, constant first.
+     * @param p The prime, as a BigInteger.
+     *
+     * @return The coefficients of the product, constant first and without
+     * leading zeros.
      */
-    private static BigInteger findNonResidue(BigInteger p) {
-        BigInteger one = BigInteger.ONE;
-        BigInteger two = BigInteger.TWO;
-        int a = 2;
-        BigInteger q = (p.subtract(one)).divide(two);
-        while (true) {
-            if (BigInteger.valueOf(a).modPow(q, p).compareTo(one) != 0) {
-                return BigInteger.valueOf(a);
+    private static BigInteger[] multiply(BigInteger[] u, BigInteger[] v,
+                                         BigInteger p) {
+        if (u.length == 0 || v.length == 0) {
+            return new BigInteger[0];
+        }
+        BigInteger[] w = new BigInteger[u.length + v.length - 1];
+        Arrays.fill(w, BigInteger.ZERO);
+        for (int i = 0; i < u.length; i++) {
+            for (int j = 0; j < v.length; j++) {
+                w[i + j] = w[i + j].add(u[i].multiply(v[j]));
             }
-            if (a == 0) {
-                return null;
+        }
+        for (int i = 0; i < w.length; i++) {
+            w[i] = w[i].mod(p);
+        }
+        return trim(w);
+    }
+
+    /**
+     * Subtracts one polynomial from another modulo p.
+     *
+     * @param u The coefficients of the minuend, constant first.
+     * @param v The coefficients of the subtrahend, constant first.
+     * @param p The prime, as a BigInteger.
+     *
+     * @return The coefficients of the difference, constant first and without
+     * leading zeros.
+     */
+    private static BigInteger[] subtract(BigInteger[] u, BigInteger[] v,
+                                         BigInteger p) {
+        BigInteger[] w = new BigInteger[Math.max(u.length, v.length)];
+        for (int i = 0; i < w.length; i++) {
+            BigInteger ui = i < u.length ? u[i] : BigInteger.ZERO;
+            BigInteger vi = i < v.length ? v[i] : BigInteger.ZERO;
+            w[i] = ui.subtract(vi).mod(p);
+        }
+        return trim(w);
+    }
+
+    /**
+     * Divides one polynomial by another modulo p and keeps the remainder.
+     *
+     * @param u The coefficients of the dividend, constant first.
+     * @param v The coefficients of the divisor, constant first and with a
+     *          non-zero leading coefficient.
+     * @param p The prime, as a BigInteger.
+     *
+     * @return The coefficients of the remainder, constant first and without
+     * leading zeros.
+     */
+    private static BigInteger[] remainder(BigInteger[] u, BigInteger[] v,
+                                          BigInteger p) {
+        BigInteger[] r = u.clone();
+        int degree = v.length - 1;
+        BigInteger lead = modInverse(v[degree], p);
+        for (int d = r.length - 1; d >= degree; d--) {
+            BigInteger t = r[d].multiply(lead).mod(p);
+            if (t.signum() == 0) {
+                continue;
             }
-            a++;
+            for (int i = 0; i <= degree; i++) {
+                int j = d - degree + i;
+                r[j] = r[j].subtract(t.multiply(v[i])).mod(p);
+            }
+        }
+        return trim(Arrays.copyOf(r, Math.min(r.length, degree)));
+    }
+
+    /**
+     * Drops the leading zero coefficients of a polynomial.
+     *
+     * @param u The coefficients of the polynomial, constant first.
+     *
+     * @return The coefficients up to the highest non-zero one, which is an
+     * empty array for the zero polynomial.
+     */
+    private static BigInteger[] trim(BigInteger[] u) {
+        int length = u.length;
+        while (length > 0 && u[length - 1].signum() == 0) {
+            length--;
         }
+        return length == u.length ? u : Arrays.copyOf(u, length);
     }
 }
@@ -0,0 +1,332 @@
+import java.math.BigInteger;
+
+/**
+ * A MontgomeryContext holds the constants needed to do arithmetic modulo an
+ * odd prime p in Montgomery form, where a value x is represented by xR mod p
+ * for R = 2^k > p. Multiplying two values in this form only needs a masked
+ * multiply, an addition and a shift (Montgomery reduction) instead of a full
+ * division by p.
+ * <p>
+ * R is always a whole number of 64-bit words, so the same representation is
+ * shared by the BigInteger methods and by the in-place register methods of
+ * FieldContext, which perform word-by-word Montgomery multiplication and
+ * never allocate.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public class MontgomeryContext extends FieldContext {
+// Attributes
+
+    /**
+     * The number of bits in R, so that R = 2^k. It is a multiple of 64.
+     */
+    private final int k;
+
+    /**
+     * -p^-1 mod 2^64, used by word-by-word Montgomery reduction.
+     */
+    private final long pInverse;
+
+    /**
+     * R^2 mod p, as a MutableInteger.
+     */
+    private final MutableInteger r2Words;
+
+    /**
+     * R^3 mod p, as a MutableInteger.
+     */
+    private final MutableInteger r3Words;
+
+    /**
+     * R - 1, used to reduce a BigInteger modulo R with a bitwise and.
+     */
+    private final BigInteger mask;
+
+    /**
+     * -p^-1 mod R, as a BigInteger.
+     */
+    private final BigInteger pPrime;
+
+    /**
+     * R^2 mod p, used to convert values into Montgomery form.
+     */
+    private final BigInteger r2;
+
+    /**
+     * R^3 mod p, used to convert inverses back into Montgomery form.
+     */
+    private final BigInteger r3;
+
+    /**
+     * R mod p, which is 1 in Montgomery form.
+     */
+    private final BigInteger one;
+
+// Constructors
+
+    /**
+     * Constructs a new Montgomery context for the given prime.
+     *
+     * @param p The odd prime number to perform modular arithmetic over, as a
+     *          BigInteger.
+     *
+     * @throws IllegalArgumentException If p is not odd.
+     */
+    protected MontgomeryContext(BigInteger p) {
+        super(p);
+        this.k = 64 * this.length;
+        BigInteger r = BigInteger.ONE.shiftLeft(this.k);
+        this.mask = r.subtract(BigInteger.ONE);
+        this.pPrime = p.modInverse(r).negate().mod(r);
+        this.one = r.mod(p);
+        this.r2 = this.one.multiply(this.one).mod(p);
+        this.r3 = this.r2.multiply(this.one).mod(p);
+        this.pInverse = this.pPrime.longValue();
+        // Only ever factors, so they need no scratch words of their own, and
+        // sizing them here rather than with newRegister keeps the subclasses
+        // that override it out of a half-built context.
+        this.r2Words = new MutableInteger(this.length);
+        this.r2Words.set(this.r2);
+        this.r3Words = new MutableInteger(this.length);
+        this.r3Words.set(this.r3);
+    }
+
+// Methods
+
+    /**
+     * Converts a value to Montgomery form.
+     *
+     * @param x The value to convert, as a BigInteger.
+     *
+     * @return xR mod p, as a BigInteger.
+     */
+    protected BigInteger toMontgomery(BigInteger x) {
+        return this.reduce(x.mod(this.p).multiply(this.r2));
+    }
+
+    /**
+     * Converts a value out of Montgomery form.
+     *
+     * @param x The value in Montgomery form, as a BigInteger.
+     *
+     * @return xR^-1 mod p, as a BigInteger.
+     */
+    protected BigInteger fromMontgomery(BigInteger x) {
+        return this.reduce(x);
+    }
+
+    /**
+     * Returns 1 in Montgomery form.
+     *
+     * @return R mod p, as a BigInteger.
+     */
+    protected BigInteger one() {
+        return this.one;
+    }
+
+    /**
+     * Adds two values in Montgomery form.
+     *
+     * @param a The first addend, as a BigInteger.
+     * @param b The second addend, as a BigInteger.
+     *
+     * @return a + b mod p, as a BigInteger.
+     */
+    protected BigInteger add(BigInteger a, BigInteger b) {
+        BigInteger sum = a.add(b);
+        return sum.compareTo(this.p) >= 0 ? sum.subtract(this.p) : sum;
+    }
+
+    /**
+     * Subtracts two values in Montgomery form.
+     *
+     * @param a The minuend, as a BigInteger.
+     * @param b The subtrahend, as a BigInteger.
+     *
+     * @return a - b mod p, as a BigInteger.
+     */
+    protected BigInteger subtract(BigInteger a, BigInteger b) {
+        BigInteger difference = a.subtract(b);
+        return difference.signum() < 0 ? difference.add(this.p) : difference;
+    }
+
+    /**
+     * Multiplies two values in Montgomery form.
+     *
+     * @param a The first factor, as a BigInteger.
+     * @param b The second factor, as a BigInteger.
+     *
+     * @return abR^-1 mod p, which is the product in Montgomery form.
+     */
+    protected BigInteger multiply(BigInteger a, BigInteger b) {
+        return this.reduce(a.multiply(b));
+    }
+
+    /**
+     * Squares a value in Montgomery form.
+     *
+     * @param a The value to square, as a BigInteger.
+     *
+     * @return The square in Montgomery form, as a BigInteger.
+     */
+    protected BigInteger square(BigInteger a) {
+        return this.reduce(a.multiply(a));
+    }
+
+    /**
+     * Inverts a value in Montgomery form.
+     *
+     * @param a The value to invert, as a BigInteger.
+     *
+     * @return The inverse in Montgomery form, as a BigInteger.
+     *
+     * @throws ArithmeticException If a is zero.
+     */
+    protected BigInteger invert(BigInteger a) {
+        // (xR)^-1 = x^-1 R^-1, and multiplying by R^3 gives x^-1 R.
+        return this.multiply(this.inverse(a), this.r3);
+    }
+
+    /**
+     * Returns the number of bits a register has to spare above p.
+     *
+     * @return k minus the bit length of p.
+     */
+    @Override
+    protected int headroom() {
+        return this.k - this.p.bitLength();
+    }
+
+    /**
+     * Returns the largest magnitude a register may reach. Montgomery
+     * reduction only leaves a product below 2p, ready for its one final
+     * subtraction, if the product is below pR, so the magnitudes of two
+     * factors may multiply to no more than 2^headroom().
+     *
+     * @return The largest magnitude, 1 if p leaves less than two bits to
+     * spare.
+     */
+    @Override
+    protected int maxMagnitude() {
+        return Math.min(super.maxMagnitude(),
+                        1 << Math.min(this.headroom() / 2, 4));
+    }
+
+    /**
+     * Converts a value to Montgomery form, writing it to a register.
+     *
+     * @param r The register to write xR mod p to.
+     * @param x The value to convert, as a BigInteger.
+     */
+    @Override
+    protected void encode(MutableInteger r, BigInteger x) {
+        r.set(x.mod(this.p));
+        this.multiply(r, r, this.r2Words);
+    }
+
+    /**
+     * Converts a value in a register out of Montgomery form.
+     *
+     * @param x The value in Montgomery form, as a MutableInteger.
+     *
+     * @return xR^-1 mod p, as a BigInteger.
+     */
+    @Override
+    protected BigInteger decode(MutableInteger x) {
+        return this.reduce(x.toBigInteger());
+    }
+
+    /**
+     * Sets r to abR^-1 mod p using word-by-word (CIOS) Montgomery
+     * multiplication. The product is accumulated in the scratch words of r,
+     * so r may be the same register as a or b.
+     *
+     * @param r The register to write the product to.
+     * @param a The first factor, of magnitude at most maxMagnitude().
+     * @param b The second factor, of magnitude at most maxMagnitude().
+     */
+    @Override
+    protected void multiply(MutableInteger r, MutableInteger a,
+                            MutableInteger b) {
+        int n = this.length;
+        long[] t = r.scratch;
+        long[] p = this.modulus.words;
+        for (int j = 0; j < n + 2; j++) {
+            t[j] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            // t += a * b[i]
+            long bi = b.words[i];
+            long c = 0;
+            for (int j = 0; j < n; j++) {
+                long aj = a.words[j];
+                long lo = aj * bi;
+                long hi = Math.unsignedMultiplyHigh(aj, bi);
+                lo += t[j];
+                hi += Long.compareUnsigned(lo, t[j]) >>> 31;
+                lo += c;
+                hi += Long.compareUnsigned(lo, c) >>> 31;
+                t[j] = lo;
+                c = hi;
+            }
+            t[n] += c;
+            t[n + 1] = Long.compareUnsigned(t[n], c) >>> 31;
+            // t = (t + m * p) / 2^64, with m chosen so the low word cancels.
+            long m = t[0] * this.pInverse;
+            long lo = m * p[0];
+            c = Math.unsignedMultiplyHigh(m, p[0]);
+            lo += t[0];
+            c += Long.compareUnsigned(lo, t[0]) >>> 31;
+            for (int j = 1; j < n; j++) {
+                lo = m * p[j];
+                long hi = Math.unsignedMultiplyHigh(m, p[j]);
+                lo += t[j];
+                hi += Long.compareUnsigned(lo, t[j]) >>> 31;
+                lo += c;
+                hi += Long.compareUnsigned(lo, c) >>> 31;
+                t[j - 1] = lo;
+                c = hi;
+            }
+            t[n - 1] = t[n] + c;
+            t[n] = t[n + 1] + (Long.compareUnsigned(t[n - 1], c) >>> 31);
+        }
+        System.arraycopy(t, 0, r.words, 0, n);
+        r.magnitude = 1;
+        // t < 2p, so subtract p at most once.
+        if (t[n] != 0 || MutableInteger.compare(r, this.modulus) >= 0) {
+            MutableInteger.subtract(r, r, this.modulus);
+        }
+    }
+
+    /**
+     * Sets r to the inverse of a in Montgomery form.
+     *
+     * @param r       The register to write the inverse to, which may be a.
+     * @param a       The value to invert, in Montgomery form.
+     * @param scratch Registers whose first three may be overwritten, none of
+     *                them r or a.
+     *
+     * @throws ArithmeticException If a is zero.
+     */
+    @Override
+    protected void invert(MutableInteger r, MutableInteger a,
+                          MutableInteger[] scratch) {
+        this.inverse(r, a, scratch);
+        // (xR)^-1 = x^-1 R^-1, and multiplying by R^3 gives x^-1 R.
+        this.multiply(r, r, this.r3Words);
+    }
+
+    /**
+     * Performs Montgomery reduction.
+     *
+     * @param t A value in [0, pR), as a BigInteger.
+     *
+     * @return tR^-1 mod p, as a BigInteger.
+     */
+    private BigInteger reduce(BigInteger t) {
+        BigInteger m = t.and(this.mask).multiply(this.pPrime).and(this.mask);
+        BigInteger u = t.add(m.multiply(this.p)).shiftRight(this.k);
+        return u.compareTo(this.p) >= 0 ? u.subtract(this.p) : u;
+    }
+}
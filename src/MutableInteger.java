@@ -0,0 +1,240 @@
+import java.math.BigInteger;
+
+/**
+ * A MutableInteger is a non-negative integer held in a fixed number of 64-bit
+ * words (least significant first) that is updated in place. Unlike a
+ * BigInteger, arithmetic on it never creates a new object, so a set of them
+ * can be allocated once per thread and reused as scratch registers for every
+ * operation on a Curve. Each one also carries a scratch buffer for the
+ * products that multiplication accumulates before reducing them.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public final class MutableInteger {
+// Attributes
+
+    /**
+     * A mask selecting the low 64 bits of a BigInteger.
+     */
+    private static final BigInteger WORD_MASK =
+            BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    /**
+     * The words of this integer, least significant first.
+     */
+    protected final long[] words;
+
+    /**
+     * Scratch space of at least two more words than this integer, used when a
+     * product is written to this integer.
+     */
+    protected final long[] scratch;
+
+    /**
+     * A bound on this integer as a field element, in multiples of the prime
+     * of the field context that wrote it: the integer is below magnitude
+     * times p. Operations that reduce leave it at 1; only the lazy additions
+     * and subtractions of a FieldContext raise it.
+     */
+    protected int magnitude;
+
+// Constructors
+
+    /**
+     * Constructs a new MutableInteger of the given width, equal to zero.
+     *
+     * @param length The number of 64-bit words.
+     */
+    protected MutableInteger(int length) {
+        this(length, length + 2);
+    }
+
+    /**
+     * Constructs a new MutableInteger of the given width, equal to zero, with
+     * a scratch buffer of the given size.
+     *
+     * @param length  The number of 64-bit words.
+     * @param scratch The number of 64-bit scratch words, at least length + 2.
+     */
+    protected MutableInteger(int length, int scratch) {
+        this.words = new long[length];
+        this.scratch = new long[scratch];
+        this.magnitude = 1;
+    }
+
+// Methods
+
+    /**
+     * Sets r to a + b, truncated to the width of r.
+     *
+     * @param r The integer to write the sum to, which may be a or b.
+     * @param a The first addend.
+     * @param b The second addend.
+     *
+     * @return The carry out of the top word, 0 or 1.
+     */
+    protected static long add(MutableInteger r, MutableInteger a,
+                              MutableInteger b) {
+        long carry = 0;
+        for (int i = 0; i < r.words.length; i++) {
+            long x = a.words[i];
+            long sum = x + b.words[i];
+            long c = Long.compareUnsigned(sum, x) >>> 31;
+            r.words[i] = sum + carry;
+            carry = c | (Long.compareUnsigned(r.words[i], carry) >>> 31);
+        }
+        return carry;
+    }
+
+    /**
+     * Compares two integers of the same width as unsigned values.
+     *
+     * @param a The first integer.
+     * @param b The second integer.
+     *
+     * @return A negative number, zero, or a positive number as a is less
+     * than, equal to, or greater than b.
+     */
+    protected static int compare(MutableInteger a, MutableInteger b) {
+        for (int i = a.words.length - 1; i >= 0; i--) {
+            int c = Long.compareUnsigned(a.words[i], b.words[i]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Shifts an integer right by one bit, in place.
+     *
+     * @param r   The integer to shift.
+     * @param top The bit to shift into the top of r, 0 or 1.
+     */
+    protected static void shiftRight(MutableInteger r, long top) {
+        int last = r.words.length - 1;
+        for (int i = 0; i < last; i++) {
+            r.words[i] = (r.words[i] >>> 1) | (r.words[i + 1] << 63);
+        }
+        r.words[last] = (r.words[last] >>> 1) | (top << 63);
+    }
+
+    /**
+     * Sets r to a - b, modulo 2 to the width of r.
+     *
+     * @param r The integer to write the difference to, which may be a or b.
+     * @param a The minuend.
+     * @param b The subtrahend.
+     *
+     * @return The borrow out of the top word, 0 or 1.
+     */
+    protected static long subtract(MutableInteger r, MutableInteger a,
+                                   MutableInteger b) {
+        long borrow = 0;
+        for (int i = 0; i < r.words.length; i++) {
+            long x = a.words[i];
+            long y = b.words[i];
+            long difference = x - y;
+            long c = Long.compareUnsigned(x, y) >>> 31;
+            r.words[i] = difference - borrow;
+            borrow = c | (Long.compareUnsigned(difference, borrow) >>> 31);
+        }
+        return borrow;
+    }
+
+    /**
+     * Determines whether this integer is even.
+     *
+     * @return True if the lowest bit is clear, False otherwise.
+     */
+    protected boolean isEven() {
+        return (this.words[0] & 1) == 0;
+    }
+
+    /**
+     * Determines whether this integer is one.
+     *
+     * @return True if this integer is one, False otherwise.
+     */
+    protected boolean isOne() {
+        long rest = this.words[0] ^ 1;
+        for (int i = 1; i < this.words.length; i++) {
+            rest |= this.words[i];
+        }
+        return rest == 0;
+    }
+
+    /**
+     * Determines whether this integer is zero.
+     *
+     * @return True if this integer is zero, False otherwise.
+     */
+    protected boolean isZero() {
+        long any = 0;
+        for (long word : this.words) {
+            any |= word;
+        }
+        return any == 0;
+    }
+
+    /**
+     * Sets this integer to the low words of a non-negative BigInteger.
+     *
+     * @param value The value to copy, as a BigInteger.
+     */
+    protected void set(BigInteger value) {
+        for (int i = 0; i < this.words.length; i++) {
+            this.words[i] = value.shiftRight(64 * i).longValue();
+        }
+        this.magnitude = 1;
+    }
+
+    /**
+     * Sets this integer to the value and magnitude of another of the same
+     * width.
+     *
+     * @param value The integer to copy.
+     */
+    protected void set(MutableInteger value) {
+        System.arraycopy(value.words, 0, this.words, 0, this.words.length);
+        this.magnitude = value.magnitude;
+    }
+
+    /**
+     * Sets this integer to a single word.
+     *
+     * @param value The value, treated as unsigned.
+     */
+    protected void set(long value) {
+        this.words[0] = value;
+        for (int i = 1; i < this.words.length; i++) {
+            this.words[i] = 0;
+        }
+        this.magnitude = 1;
+    }
+
+    /**
+     * Converts this integer to a BigInteger.
+     *
+     * @return The value of this integer, as a BigInteger.
+     */
+    protected BigInteger toBigInteger() {
+        BigInteger value = BigInteger.ZERO;
+        for (int i = this.words.length - 1; i >= 0; i--) {
+            value = value.shiftLeft(64).or(
+                    BigInteger.valueOf(this.words[i]).and(WORD_MASK));
+        }
+        return value;
+    }
+
+    /**
+     * Returns the hexadecimal representation of this integer.
+     *
+     * @return This integer in base 16, as a String.
+     */
+    @Override
+    public String toString() {
+        return this.toBigInteger().toString(16);
+    }
+}
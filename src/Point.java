@@ -1,19 +1,55 @@
 import java.math.BigInteger;
 
 /**
- * A Point represents a Point on an elliptic curve.
+ * A Point represents a Point on an elliptic curve. The Point At Infinity has
+ * no affine coordinates, so it is marked by a flag rather than by a pair of
+ * values no curve point can take, and telling it apart is a field test
+ * instead of two BigInteger comparisons.
+ *
+ * @param x        The x-coordinate of this Point, as a BigInteger, or zero
+ *                 for The Point At Infinity.
+ * @param y        The y-coordinate of this Point, as a BigInteger, or zero
+ *                 for The Point At Infinity.
+ * @param infinite Whether this Point is The Point At Infinity.
  *
  * @author Sam K
- * @version 1/27/2025
+ * @version 10/18/2026
  */
-public record Point(BigInteger x, BigInteger y) {
+public record Point(BigInteger x, BigInteger y, boolean infinite) {
 // Attributes
 
     /**
      * A constant for representing The Point At Infinity.
      */
     public static final Point INFINITY =
-            new Point(BigInteger.valueOf(-1), BigInteger.valueOf(-1));
+            new Point(BigInteger.ZERO, BigInteger.ZERO, true);
+
+// Constructors
+
+    /**
+     * Constructs a new Point, forcing the coordinates of The Point At
+     * Infinity to zero so that every instance of it is equal.
+     *
+     * @param x        The x-coordinate of this Point, as a BigInteger.
+     * @param y        The y-coordinate of this Point, as a BigInteger.
+     * @param infinite Whether this Point is The Point At Infinity.
+     */
+    public Point {
+        if (infinite) {
+            x = BigInteger.ZERO;
+            y = BigInteger.ZERO;
+        }
+    }
+
+    /**
+     * Constructs a new affine Point with the given coordinates.
+     *
+     * @param x The x-coordinate of this Point, as a BigInteger.
+     * @param y The y-coordinate of this Point, as a BigInteger.
+     */
+    public Point(BigInteger x, BigInteger y) {
+        this(x, y, false);
+    }
 
 // Methods
 
@@ -23,33 +59,58 @@ public record Point(BigInteger x, BigInteger y) {
      * @return A Point with the same coordinates as this Point.
      */
     public Point copy() {
-        return new Point(this.x, this.y);
+        return new Point(this.x, this.y, this.infinite);
     }
 
     /**
-     * Returns a String representation of this Point.
+     * Returns a boolean which is True if this Point and the given object are
+     * the same Point. The flags are compared first, so a comparison with The
+     * Point At Infinity never looks at the coordinates.
      *
-     * @return A String representation of this Point.
+     * @param o The object to compare this Point to.
+     *
+     * @return True if the two Points are equal, False otherwise.
      */
     @Override
-    public String toString() {
-        if (this.equals(Point.INFINITY)) {
-            return "The Point At Infinity";
-        } else {
-            return "(" + this.x() + ", " + this.y() + ")";
+    public boolean equals(Object o) {
+        if (!(o instanceof Point point)) {
+            return false;
+        } else if (this.infinite || point.infinite) {
+            return this.infinite == point.infinite;
         }
+        return this.x.equals(point.x) && this.y.equals(point.y);
     }
 
     /**
-     * Returns a boolean which is True if this Point and the given Point have
-     * the same coordinates.
+     * Returns a hash code for this Point, consistent with equals.
      *
-     * @param point The Point to compare this Point to.
+     * @return A hash code for this Point.
+     */
+    @Override
+    public int hashCode() {
+        return this.infinite ? 0 : 31 * this.x.hashCode() + this.y.hashCode();
+    }
+
+    /**
+     * Returns whether this Point is The Point At Infinity.
      *
-     * @return True if the two Points are equal, False otherwise.
+     * @return True if this Point is The Point At Infinity, False otherwise.
+     */
+    public boolean isInfinity() {
+        return this.infinite;
+    }
+
+    /**
+     * Returns a String representation of this Point.
+     *
+     * @return A String representation of this Point.
      */
-    private boolean equals(Point point) {
-        return this.x.compareTo(point.x()) == 0 &&
-               this.y.compareTo(point.y()) == 0;
+    @Override
+    public String toString() {
+        if (this.infinite) {
+            return "The Point At Infinity";
+        } else {
+            return "(" + this.x() + ", " + this.y() + ")";
+        }
     }
 }
@@ -0,0 +1,113 @@
+/**
+ * A PointAccumulator is a mutable sum of points on a Curve. It holds its
+ * point in the projective coordinates of the Curve's formulas, in registers
+ * of the Curve's field context, and does its arithmetic in the scratch
+ * registers of the calling thread, so adding, doubling and negating change
+ * it in place without creating a Point for every intermediate result. Adding
+ * another PointAccumulator allocates nothing at all; adding a Point costs
+ * only the conversion of its coordinates into the field context.
+ * <p>
+ * A PointAccumulator starts at The Point At Infinity. It is not safe for use
+ * by several threads at once.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public class PointAccumulator {
+// Attributes
+
+    /**
+     * The Curve whose points this accumulator sums.
+     */
+    private final Curve curve;
+
+    /**
+     * The X-coordinate of the sum, in the representation of the Curve's
+     * field context.
+     */
+    protected final MutableInteger x;
+
+    /**
+     * The Y-coordinate of the sum, in the representation of the Curve's
+     * field context.
+     */
+    protected final MutableInteger y;
+
+    /**
+     * The Z-coordinate of the sum, in the representation of the Curve's
+     * field context, which is zero for The Point At Infinity.
+     */
+    protected final MutableInteger z;
+
+// Constructors
+
+    /**
+     * Constructs a new accumulator for the given Curve over the given
+     * registers.
+     *
+     * @param curve The Curve whose points to sum.
+     * @param x     The register to hold the X-coordinate in.
+     * @param y     The register to hold the Y-coordinate in.
+     * @param z     The register to hold the Z-coordinate in.
+     */
+    protected PointAccumulator(Curve curve, MutableInteger x, MutableInteger y,
+                               MutableInteger z) {
+        this.curve = curve;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+// Methods
+
+    /**
+     * Adds a Point to this sum, in place.
+     *
+     * @param point The Point to add.
+     */
+    protected void addInPlace(Point point) {
+        this.curve.addInPlace(this, point);
+    }
+
+    /**
+     * Adds the sum held by another accumulator of the same Curve to this
+     * sum, in place. The other accumulator may be this one.
+     *
+     * @param other The accumulator to add.
+     */
+    protected void addInPlace(PointAccumulator other) {
+        this.curve.addInPlace(this, other);
+    }
+
+    /**
+     * Doubles this sum, in place.
+     */
+    protected void doubleInPlace() {
+        this.curve.doubleInPlace(this);
+    }
+
+    /**
+     * Returns whether this sum is The Point At Infinity.
+     *
+     * @return True if this sum is The Point At Infinity, False otherwise.
+     */
+    protected boolean isInfinity() {
+        return this.z.isZero();
+    }
+
+    /**
+     * Negates this sum, in place.
+     */
+    protected void negate() {
+        this.curve.negate(this);
+    }
+
+    /**
+     * Converts this sum to a Point, leaving the sum as it is.
+     *
+     * @return The sum, as a Point.
+     */
+    protected Point toPoint() {
+        return this.curve.toPoint(this);
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * A PointFormulas selects the formulas a Curve does scalar multiplication
+ * with. Jacobian coordinates give the fewest field multiplications per step,
+ * but their addition formulas fail when the two points are equal, opposite
+ * or at infinity, so every step branches on those cases. The complete
+ * formulas of Renes, Costello and Batina (2016) work in homogeneous
+ * projective coordinates and give the right sum for every pair of points,
+ * The Point At Infinity included, so a multiplication runs the same field
+ * operations whatever the Points and scalar, at the cost of a few more
+ * multiplications per step.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public enum PointFormulas {
+    /**
+     * Jacobian coordinates, with mixed additions and branches on the
+     * exceptional cases.
+     */
+    JACOBIAN,
+
+    /**
+     * The complete projective formulas, with no exceptional cases on curves
+     * without a point of order two, which includes every curve of prime
+     * order. A Curve refuses them if it has a point of order two.
+     */
+    COMPLETE
+}
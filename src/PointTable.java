@@ -0,0 +1,138 @@
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * A PointTable is a fixed-size array of affine points kept off the Java heap.
+ * Every entry has the same layout: the x-coordinate followed by the
+ * y-coordinate, each as a fixed number of 64-bit words, least significant
+ * first. Compared to an array of Points, an entry takes exactly as many bytes
+ * as its coordinates, needs no pointer chasing, and is invisible to the
+ * garbage collector, so tables with millions of entries do not lengthen GC
+ * pauses. The memory is released when the table is closed.
+ * <p>
+ * A PointTable does not know which representation its coordinates are in;
+ * a Curve stores them in the representation of its field context, so entries
+ * are only read and written through that context's registers, and read back
+ * through the Curve that built the table, with Curve.entry or
+ * Curve.addInPlace. The Point At Infinity has no affine coordinates and
+ * cannot be stored. Curve builds tables of the multiples of a Point, behind
+ * its byte map, and fixed-base tables that multiplyAll multiplies a Point by
+ * many scalars with; the small tables of a single scalar multiplication stay
+ * in the registers of the multiplying thread.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public class PointTable implements AutoCloseable {
+// Attributes
+
+    /**
+     * The arena that owns the memory of this table.
+     */
+    private final Arena arena;
+
+    /**
+     * The memory holding the entries of this table.
+     */
+    private final MemorySegment segment;
+
+    /**
+     * The number of entries in this table.
+     */
+    private final int size;
+
+    /**
+     * The number of 64-bit words in each coordinate.
+     */
+    private final int length;
+
+// Constructors
+
+    /**
+     * Constructs a new table with room for the given number of points, with
+     * every coordinate zero.
+     *
+     * @param size   The number of entries.
+     * @param length The number of 64-bit words in each coordinate.
+     */
+    protected PointTable(int size, int length) {
+        this.size = size;
+        this.length = length;
+        this.arena = Arena.ofShared();
+        long bytes = (long) size * 2 * length * Long.BYTES;
+        this.segment = this.arena.allocate(bytes, Long.BYTES);
+    }
+
+// Methods
+
+    /**
+     * Reads the coordinates of an entry into registers. Entries are always
+     * stored fully reduced, so both registers are left with magnitude 1.
+     *
+     * @param i The index of the entry.
+     * @param x The register to read the x-coordinate into.
+     * @param y The register to read the y-coordinate into.
+     */
+    protected void get(int i, MutableInteger x, MutableInteger y) {
+        long offset = this.offset(i);
+        MemorySegment.copy(this.segment, ValueLayout.JAVA_LONG, offset,
+                           x.words, 0, this.length);
+        MemorySegment.copy(this.segment, ValueLayout.JAVA_LONG,
+                           offset + (long) this.length * Long.BYTES, y.words,
+                           0, this.length);
+        x.magnitude = 1;
+        y.magnitude = 1;
+    }
+
+    /**
+     * Writes the coordinates of an entry from registers.
+     *
+     * @param i The index of the entry.
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     */
+    protected void set(int i, MutableInteger x, MutableInteger y) {
+        long offset = this.offset(i);
+        MemorySegment.copy(x.words, 0, this.segment, ValueLayout.JAVA_LONG,
+                           offset, this.length);
+        MemorySegment.copy(y.words, 0, this.segment, ValueLayout.JAVA_LONG,
+                           offset + (long) this.length * Long.BYTES,
+                           this.length);
+    }
+
+    /**
+     * Returns the number of entries in this table.
+     *
+     * @return The number of entries.
+     */
+    protected int size() {
+        return this.size;
+    }
+
+    /**
+     * Releases the memory of this table. No entry may be read or written
+     * afterwards.
+     */
+    @Override
+    public void close() {
+        this.arena.close();
+    }
+
+    /**
+     * Returns the byte offset of an entry.
+     *
+     * @param i The index of the entry.
+     *
+     * @return The offset of the x-coordinate of entry i, in bytes.
+     *
+     * @throws IndexOutOfBoundsException If i is not in [0, size).
+     */
+    private long offset(int i) {
+        if (i < 0 || i >= this.size) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + i + " out of bounds for size " + this.size);
+        }
+        return (long) i * 2 * this.length * Long.BYTES;
+    }
+}
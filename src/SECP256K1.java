@@ -1,10 +1,13 @@
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A SECP256K1 represents the secp256k1 curve, specifically.
  *
  * @author Sam K
- * @version 1/27/2025
+ * @version 10/18/2026
  */
 public class SECP256K1 extends Curve {
 // Attributes
@@ -33,21 +36,266 @@ public class SECP256K1 extends Curve {
     /**
      * The prime number to perform modular arithmetic over, as a BigInteger.
      */
-    private static final BigInteger p = new BigInteger(
-            "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F",
+    private static final BigInteger p = SECP256K1FieldElement.P;
+
+    /**
+     * The order of the generator point of this Curve, as a BigInteger.
+     */
+    private static final BigInteger n = new BigInteger(
+            "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141",
             16);
 
+    /**
+     * The limbs of n, least significant first.
+     */
+    private static final long[] N_LIMBS = toLimbs(n);
+
+    /**
+     * -n^-1 mod 2^64, used by Montgomery multiplication modulo n.
+     */
+    private static final long N_PRIME = BigInteger.ONE.shiftLeft(64).subtract(
+            n.modInverse(BigInteger.ONE.shiftLeft(64))).longValue();
+
+    /**
+     * 2^512 mod n, used to bring scalars into Montgomery form.
+     */
+    private static final long[] N_R2 =
+            toLimbs(BigInteger.ONE.shiftLeft(512).mod(n));
+
+    /**
+     * The addition chain for the low 129 bits of n - 2, as pairs of the
+     * number of squarings followed by the index i of the odd power u^(2i+1)
+     * to multiply by. It is derived once from the constant exponent with a
+     * 4-bit sliding window; the top 127 bits of n - 2 are all ones and are
+     * handled separately.
+     */
+    private static final int[] SCALAR_CHAIN =
+            slidingWindowChain(n.subtract(BigInteger.TWO), 129, 4);
+
+    /**
+     * The limbs of one. A Montgomery multiplication by one takes a scalar
+     * out of Montgomery form.
+     */
+    private static final long[] ONE_LIMBS = {1, 0, 0, 0};
+
+    /**
+     * Each thread's buffers for scalar inversion: the odd powers u^(2i+1) for
+     * i in [0, 7], u^2, the runs of ones x6, x12, x24, x48, x96, x120 and
+     * x126, and the result, in that order.
+     */
+    private static final ThreadLocal<long[][]> SCALAR_SCRATCH =
+            ThreadLocal.withInitial(() -> new long[17][4]);
+
+    /**
+     * The width in bits of the scalar digits multiply consumes at a time.
+     */
+    private static final int WINDOW = 4;
+
+    /**
+     * The number of multiples in the table of multiply, one for each
+     * non-zero digit.
+     */
+    private static final int MULTIPLES = (1 << WINDOW) - 1;
+
 // Constructors
 
     /**
      * Constructs a new instance of the SECP256K1 Curve.
      */
     protected SECP256K1() {
-        super(SECP256K1.a, SECP256K1.b, SECP256K1.p, SECP256K1.G);
+        this(PointFormulas.JACOBIAN);
+    }
+
+    /**
+     * Constructs a new instance of the SECP256K1 Curve that does point
+     * arithmetic with the given formulas. With the complete formulas, the
+     * SECP256K1FieldElement paths are set aside for the a = 0 complete
+     * formulas of Curve.
+     *
+     * @param formulas The formulas to add and multiply points with, as a
+     *                 PointFormulas.
+     */
+    protected SECP256K1(PointFormulas formulas) {
+        super(SECP256K1.a, SECP256K1.b, SECP256K1.p, SECP256K1.G,
+              FieldContext.forPrime(SECP256K1.p), formulas);
     }
 
 // Methods
 
+    /**
+     * Adds two points on this Curve modulo p. The coordinates are converted to
+     * SECP256K1FieldElements so that the slope computation runs on fixed-width
+     * limbs instead of BigIntegers.
+     *
+     * @param pointA The first addend, as a Point.
+     * @param pointB The second addend, as a Point.
+     *
+     * @return The resultant Point on this Curve.
+     */
+    @Override
+    protected Point add(Point pointA, Point pointB) {
+        if (this.formulas() == PointFormulas.COMPLETE) {
+            return super.add(pointA, pointB);
+        } else if (pointA.isInfinity()) {
+            return pointB;
+        } else if (pointB.isInfinity()) {
+            return pointA;
+        }
+        return toPoint(this.add(toElements(pointA), toElements(pointB)));
+    }
+
+    /**
+     * Doubles a Point on this Curve modulo p, on SECP256K1FieldElements.
+     *
+     * @param point The Point to double.
+     *
+     * @return The resultant Point on this Curve.
+     */
+    @Override
+    protected Point dbl(Point point) {
+        if (this.formulas() == PointFormulas.COMPLETE) {
+            return super.dbl(point);
+        } else if (point.isInfinity()) {
+            return Point.INFINITY;
+        }
+        return toPoint(this.dbl(toElements(point)));
+    }
+
+    /**
+     * Multiply a Point on this Curve by a scalar using the left-to-right
+     * double and add algorithm in Jacobian coordinates, on
+     * SECP256K1FieldElements, consuming the scalar WINDOW bits at a time.
+     * The multiples of the Point the ladder adds are normalized to affine
+     * coordinates with one batch inversion, so every addition uses the
+     * mixed formulas, and the product is brought back to affine coordinates
+     * with one more inversion.
+     *
+     * @param p The Point to multiply.
+     * @param t The scalar to multiply by, as a BigInteger.
+     *
+     * @return The product, as a Point.
+     */
+    @Override
+    protected Point multiply(Point p, BigInteger t) {
+        if (this.formulas() == PointFormulas.COMPLETE) {
+            return super.multiply(p, t);
+        } else if (p.isInfinity()) {
+            return Point.INFINITY;
+        }
+        SECP256K1FieldElement[] q = toElements(p);
+        SECP256K1FieldElement[][] table =
+                new SECP256K1FieldElement[MULTIPLES][];
+        SECP256K1FieldElement[] z = new SECP256K1FieldElement[MULTIPLES];
+        SECP256K1FieldElement[] multiple = null;
+        for (int i = 0; i < MULTIPLES; i++) {
+            multiple = this.addMixed(multiple, q);
+            table[i] = multiple;
+            z[i] = multiple == null ? SECP256K1FieldElement.ZERO : multiple[2];
+        }
+        SECP256K1FieldElement[] zInverse = Modular.batchInverse(z);
+        for (int i = 0; i < MULTIPLES; i++) {
+            if (table[i] != null) {
+                SECP256K1FieldElement zz = zInverse[i].square();
+                table[i] = new SECP256K1FieldElement[]{
+                        table[i][0].multiply(zz),
+                        table[i][1].multiply(zz).multiply(zInverse[i])};
+            }
+        }
+        SECP256K1FieldElement[] result = null;
+        for (int i = (t.bitLength() + WINDOW - 1) / WINDOW - 1; i >= 0; i--) {
+            int digit = 0;
+            for (int j = WINDOW - 1; j >= 0; j--) {
+                result = this.dblJacobian(result);
+                digit = 2 * digit + (t.testBit(i * WINDOW + j) ? 1 : 0);
+            }
+            if (digit != 0 && table[digit - 1] != null) {
+                result = this.addMixed(result, table[digit - 1]);
+            }
+        }
+        return toAffine(result);
+    }
+
+    /**
+     * Multiplies a Point on this Curve by each of several scalars at once.
+     * Every scalar walks the same left-to-right double and add ladder in
+     * Jacobian coordinates, one lane of a SECP256K1FieldBatch each, so the
+     * field multiplications of all lanes run together and are vectorized
+     * where the JVM supports it. The Point stays affine, so additions use
+     * the cheaper mixed formulas, and the products are brought back to
+     * affine coordinates with a single shared inversion.
+     *
+     * @param p       The Point to multiply.
+     * @param scalars The scalars to multiply by, as BigIntegers.
+     *
+     * @return The products, as Points, in the same order as the scalars.
+     */
+    @Override
+    protected Point[] multiplyAll(Point p, BigInteger[] scalars) {
+        if (this.formulas() == PointFormulas.COMPLETE) {
+            return super.multiplyAll(p, scalars);
+        }
+        int size = scalars.length;
+        Point[] products = new Point[size];
+        if (p.isInfinity()) {
+            Arrays.fill(products, Point.INFINITY);
+            return products;
+        }
+        BigInteger[] k = new BigInteger[size];
+        SECP256K1FieldBatch x2 = new SECP256K1FieldBatch(size);
+        SECP256K1FieldBatch y2 = new SECP256K1FieldBatch(size);
+        SECP256K1FieldBatch one = new SECP256K1FieldBatch(size);
+        for (int i = 0; i < size; i++) {
+            k[i] = scalars[i].mod(n);
+            x2.set(i, p.x());
+            y2.set(i, p.y());
+            one.set(i, BigInteger.ONE);
+        }
+        SECP256K1FieldBatch x = new SECP256K1FieldBatch(size);
+        SECP256K1FieldBatch y = new SECP256K1FieldBatch(size);
+        SECP256K1FieldBatch z = new SECP256K1FieldBatch(size);
+        SECP256K1FieldBatch[] t = new SECP256K1FieldBatch[8];
+        for (int i = 0; i < t.length; i++) {
+            t[i] = new SECP256K1FieldBatch(size);
+        }
+        boolean[] infinity = new boolean[size];
+        boolean[] exceptional = new boolean[size];
+        boolean[] adding = new boolean[size];
+        boolean[] starting = new boolean[size];
+        Arrays.fill(infinity, true);
+        for (int bit = n.bitLength() - 1; bit >= 0; bit--) {
+            this.doubleLanes(x, y, z, t);
+            for (int i = 0; i < size; i++) {
+                boolean set = k[i].testBit(bit);
+                starting[i] = set && infinity[i];
+                adding[i] = set && !infinity[i];
+                infinity[i] &= !set;
+            }
+            this.addLanes(x, y, z, x2, y2, t, adding, exceptional);
+            SECP256K1FieldBatch.select(x, x, x2, starting);
+            SECP256K1FieldBatch.select(y, y, y2, starting);
+            SECP256K1FieldBatch.select(z, z, one, starting);
+        }
+        SECP256K1FieldElement[] zs = new SECP256K1FieldElement[size];
+        for (int i = 0; i < size; i++) {
+            zs[i] = z.get(i);
+        }
+        SECP256K1FieldElement[] inverses = Modular.batchInverse(zs);
+        for (int i = 0; i < size; i++) {
+            if (exceptional[i]) {
+                products[i] = this.multiply(p, k[i]);
+            } else if (infinity[i]) {
+                products[i] = Point.INFINITY;
+            } else {
+                SECP256K1FieldElement zz = inverses[i].square();
+                products[i] = new Point(
+                        x.get(i).multiply(zz).toBigInteger(),
+                        y.get(i).multiply(zz).multiply(inverses[i])
+                         .toBigInteger());
+            }
+        }
+        return products;
+    }
+
     /**
      * Returns the order of the generator point of this Curve. The value is
      * hardcoded as it was calculated ahead of time, and this method overrides
@@ -59,7 +307,550 @@ public class SECP256K1 extends Curve {
      */
     @Override
     protected BigInteger order(Point G) {
-        return new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A0" +
-                              "3BBFD25E8CD0364141", 16);
+        return SECP256K1.n;
+    }
+
+    /**
+     * Inverts a field element modulo p using Fermat's little theorem with a
+     * fixed addition chain, so the latency does not depend on the input.
+     *
+     * @param x The field element to invert.
+     *
+     * @return The inverse of x, as a SECP256K1FieldElement.
+     */
+    protected static SECP256K1FieldElement invertField(
+            SECP256K1FieldElement x) {
+        return x.invertFermat();
+    }
+
+    /**
+     * Inverts a scalar modulo the group order n using Fermat's little
+     * theorem. The exponentiation by n - 2 follows a precomputed addition
+     * chain on fixed-width limbs in Montgomery form, so every scalar takes
+     * the same sequence of operations. Every intermediate value lives in
+     * this thread's scratch buffers, so only the conversions from and to
+     * BigInteger allocate.
+     *
+     * @param k The scalar to invert, as a BigInteger.
+     *
+     * @return The inverse of k mod n, or zero if k is a multiple of n, as a
+     * BigInteger.
+     */
+    protected static BigInteger invertScalar(BigInteger k) {
+        long[][] scratch = SCALAR_SCRATCH.get();
+        // scratch[i] holds u^(2i+1) for the sliding window over the low
+        // bits.
+        long[] u = scratch[0];
+        toLimbs(u, k.mod(n));
+        scalarMultiply(u, u, N_R2);
+        long[] uu = scratch[8];
+        scalarMultiply(uu, u, u);
+        for (int i = 1; i < 8; i++) {
+            scalarMultiply(scratch[i], scratch[i - 1], uu);
+        }
+        // xk holds u^(2^k - 1), a run of k one bits in the exponent.
+        long[] x3 = scratch[3];
+        long[] x6 = scratch[9];
+        long[] x12 = scratch[10];
+        long[] x24 = scratch[11];
+        long[] x48 = scratch[12];
+        long[] x96 = scratch[13];
+        long[] x120 = scratch[14];
+        long[] x126 = scratch[15];
+        long[] r = scratch[16];
+        scalarSquareMultiply(x6, x3, 3, x3);
+        scalarSquareMultiply(x12, x6, 6, x6);
+        scalarSquareMultiply(x24, x12, 12, x12);
+        scalarSquareMultiply(x48, x24, 24, x24);
+        scalarSquareMultiply(x96, x48, 48, x48);
+        scalarSquareMultiply(x120, x96, 24, x24);
+        scalarSquareMultiply(x126, x120, 6, x6);
+        scalarSquareMultiply(r, x126, 1, u);
+        for (int i = 0; i < SCALAR_CHAIN.length; i += 2) {
+            for (int j = 0; j < SCALAR_CHAIN[i]; j++) {
+                scalarMultiply(r, r, r);
+            }
+            if (SCALAR_CHAIN[i + 1] >= 0) {
+                scalarMultiply(r, r, scratch[SCALAR_CHAIN[i + 1]]);
+            }
+        }
+        scalarMultiply(r, r, ONE_LIMBS);
+        return SECP256K1FieldElement.store(r);
+    }
+
+    /**
+     * Adds two points given as pairs of field elements. Null represents The
+     * Point At Infinity.
+     *
+     * @param pointA The first addend, as an x, y pair of field elements.
+     * @param pointB The second addend, as an x, y pair of field elements.
+     *
+     * @return The sum as an x, y pair of field elements, or null.
+     */
+    private SECP256K1FieldElement[] add(SECP256K1FieldElement[] pointA,
+                                        SECP256K1FieldElement[] pointB) {
+        if (pointA == null) {
+            return pointB;
+        } else if (pointB == null) {
+            return pointA;
+        }
+        SECP256K1FieldElement x1 = pointA[0];
+        SECP256K1FieldElement y1 = pointA[1];
+        SECP256K1FieldElement x2 = pointB[0];
+        SECP256K1FieldElement y2 = pointB[1];
+        if (x1.equals(x2)) {
+            return y1.equals(y2) ? this.dbl(pointA) : null;
+        }
+        SECP256K1FieldElement slope =
+                y2.subtract(y1).multiply(x2.subtract(x1).invert());
+        SECP256K1FieldElement x3 = slope.square().subtract(x1).subtract(x2);
+        SECP256K1FieldElement y3 = slope.multiply(x1.subtract(x3)).subtract(y1);
+        return new SECP256K1FieldElement[]{x3, y3};
+    }
+
+    /**
+     * Doubles a point given as a pair of field elements. Null represents The
+     * Point At Infinity.
+     *
+     * @param point The point to double, as an x, y pair of field elements.
+     *
+     * @return The double as an x, y pair of field elements, or null.
+     */
+    private SECP256K1FieldElement[] dbl(SECP256K1FieldElement[] point) {
+        if (point == null || point[1].isZero()) {
+            return null;
+        }
+        SECP256K1FieldElement x = point[0];
+        SECP256K1FieldElement y = point[1];
+        // a = 0, so the tangent slope is 3x^2 / 2y.
+        SECP256K1FieldElement xx = x.square();
+        SECP256K1FieldElement slope =
+                xx.add(xx).add(xx).multiply(y.add(y).invert());
+        SECP256K1FieldElement x3 = slope.square().subtract(x).subtract(x);
+        SECP256K1FieldElement y3 = slope.multiply(x.subtract(x3)).subtract(y);
+        return new SECP256K1FieldElement[]{x3, y3};
+    }
+
+    /**
+     * Adds an affine point to a Jacobian one, both given as field elements,
+     * using the madd-2007-bl formulas. Null represents The Point At Infinity
+     * in either role. Equal and opposite points are recognized by comparing
+     * X1 with x2 Z1^2 and Y1 with y2 Z1^3, which needs no inversion.
+     *
+     * @param pointA The Jacobian addend, as an x, y, z triple of field
+     *               elements.
+     * @param pointB The affine addend, as an x, y pair of field elements.
+     *
+     * @return The sum as an x, y, z triple of field elements, or null.
+     */
+    private SECP256K1FieldElement[] addMixed(SECP256K1FieldElement[] pointA,
+                                             SECP256K1FieldElement[] pointB) {
+        if (pointB == null) {
+            return pointA;
+        } else if (pointA == null) {
+            return new SECP256K1FieldElement[]{pointB[0], pointB[1],
+                                               SECP256K1FieldElement.ONE};
+        }
+        SECP256K1FieldElement x1 = pointA[0];
+        SECP256K1FieldElement y1 = pointA[1];
+        SECP256K1FieldElement z1 = pointA[2];
+        SECP256K1FieldElement z1z1 = z1.square();
+        SECP256K1FieldElement h = pointB[0].multiply(z1z1).subtract(x1);
+        SECP256K1FieldElement r =
+                pointB[1].multiply(z1).multiply(z1z1).subtract(y1);
+        if (h.isZero()) {
+            return r.isZero() ? this.dblJacobian(pointA) : null;
+        }
+        // Values that only feed products are left lazy.
+        r = r.addLazy(r);
+        SECP256K1FieldElement hh = h.square();
+        SECP256K1FieldElement i = hh.addLazy(hh);
+        i = i.addLazy(i);
+        SECP256K1FieldElement j = h.multiply(i);
+        SECP256K1FieldElement v = x1.multiply(i);
+        SECP256K1FieldElement x3 = r.square().subtract(j)
+                                    .subtract(v.addLazy(v));
+        SECP256K1FieldElement y1j = y1.multiply(j);
+        SECP256K1FieldElement y3 = r.multiply(v.subtractLazy(x3))
+                                    .subtract(y1j.addLazy(y1j));
+        SECP256K1FieldElement z3 = z1.addLazy(h).square().subtract(z1z1)
+                                     .subtract(hh);
+        return new SECP256K1FieldElement[]{x3, y3, z3};
+    }
+
+    /**
+     * Doubles a point given as a Jacobian triple of field elements, using the
+     * dbl-2009-l formulas, which rely on a = 0. Null represents The Point At
+     * Infinity.
+     *
+     * @param point The point to double, as an x, y, z triple of field
+     *              elements.
+     *
+     * @return The double as an x, y, z triple of field elements, or null.
+     */
+    private SECP256K1FieldElement[] dblJacobian(SECP256K1FieldElement[] point) {
+        if (point == null || point[1].isZero()) {
+            return null;
+        }
+        SECP256K1FieldElement x = point[0];
+        SECP256K1FieldElement y = point[1];
+        SECP256K1FieldElement a = x.square();
+        SECP256K1FieldElement b = y.square();
+        SECP256K1FieldElement c = b.square();
+        // Values that only feed products or a single final subtraction are
+        // left lazy.
+        SECP256K1FieldElement d = x.addLazy(b).square().subtractLazy(a)
+                                   .subtractLazy(c);
+        d = d.addLazy(d);
+        SECP256K1FieldElement e = a.addLazy(a).addLazy(a);
+        SECP256K1FieldElement x3 = e.square().subtract(d.addLazy(d));
+        SECP256K1FieldElement c8 = c.addLazy(c);
+        c8 = c8.addLazy(c8);
+        c8 = c8.addLazy(c8);
+        SECP256K1FieldElement y3 = e.multiply(d.subtractLazy(x3))
+                                    .subtract(c8);
+        SECP256K1FieldElement z3 = y.multiply(point[2]);
+        return new SECP256K1FieldElement[]{x3, y3, z3.add(z3)};
+    }
+
+    /**
+     * Adds the affine Point (x2, y2) to the Jacobian points (x, y, z) in the
+     * lanes where adding is true, using the madd-2007-bl formulas. Lanes
+     * where the two points share an x-coordinate are not handled by these
+     * formulas and are flagged as exceptional instead.
+     *
+     * @param x           The Jacobian x-coordinates, updated in place.
+     * @param y           The Jacobian y-coordinates, updated in place.
+     * @param z           The Jacobian z-coordinates, updated in place.
+     * @param x2          The affine x-coordinate of the Point to add.
+     * @param y2          The affine y-coordinate of the Point to add.
+     * @param t           Eight scratch batches of the same size.
+     * @param adding      Whether to add in each lane.
+     * @param exceptional Set for the lanes that hit an exceptional case.
+     */
+    private void addLanes(SECP256K1FieldBatch x, SECP256K1FieldBatch y,
+                          SECP256K1FieldBatch z, SECP256K1FieldBatch x2,
+                          SECP256K1FieldBatch y2, SECP256K1FieldBatch[] t,
+                          boolean[] adding, boolean[] exceptional) {
+        SECP256K1FieldBatch z1z1 = t[0];
+        SECP256K1FieldBatch h = t[1];
+        SECP256K1FieldBatch hh = t[2];
+        SECP256K1FieldBatch s2 = t[3];
+        SECP256K1FieldBatch j = t[4];
+        SECP256K1FieldBatch v = t[5];
+        SECP256K1FieldBatch x3 = t[6];
+        SECP256K1FieldBatch y3 = t[7];
+        SECP256K1FieldBatch.square(z1z1, z);
+        // h = x2 * z1z1 - x, s2 = y2 * z * z1z1
+        SECP256K1FieldBatch.multiply(h, x2, z1z1);
+        SECP256K1FieldBatch.subtract(h, h, x);
+        SECP256K1FieldBatch.multiply(s2, y2, z);
+        SECP256K1FieldBatch.multiply(s2, s2, z1z1);
+        for (int i = 0; i < adding.length; i++) {
+            exceptional[i] |= adding[i] && h.isZero(i);
+        }
+        // i = 4 * h^2, j = h * i, r = 2 * (s2 - y), v = x * i
+        SECP256K1FieldBatch.square(hh, h);
+        SECP256K1FieldBatch.multiply(v, hh, 4);
+        SECP256K1FieldBatch.multiply(j, h, v);
+        SECP256K1FieldBatch.multiply(v, x, v);
+        SECP256K1FieldBatch.subtract(s2, s2, y);
+        SECP256K1FieldBatch.add(s2, s2, s2);
+        // x3 = r^2 - j - 2v
+        SECP256K1FieldBatch.square(x3, s2);
+        SECP256K1FieldBatch.subtract(x3, x3, j);
+        SECP256K1FieldBatch.subtract(x3, x3, v);
+        SECP256K1FieldBatch.subtract(x3, x3, v);
+        // y3 = r * (v - x3) - 2 * y * j
+        SECP256K1FieldBatch.subtract(v, v, x3);
+        SECP256K1FieldBatch.multiply(y3, s2, v);
+        SECP256K1FieldBatch.multiply(j, j, y);
+        SECP256K1FieldBatch.subtract(y3, y3, j);
+        SECP256K1FieldBatch.subtract(y3, y3, j);
+        // z3 = (z + h)^2 - z1z1 - hh
+        SECP256K1FieldBatch.add(h, z, h);
+        SECP256K1FieldBatch.square(h, h);
+        SECP256K1FieldBatch.subtract(h, h, z1z1);
+        SECP256K1FieldBatch.subtract(h, h, hh);
+        SECP256K1FieldBatch.select(x, x, x3, adding);
+        SECP256K1FieldBatch.select(y, y, y3, adding);
+        SECP256K1FieldBatch.select(z, z, h, adding);
+    }
+
+    /**
+     * Doubles the Jacobian points (x, y, z) in every lane using the
+     * dbl-2009-l formulas, which rely on a = 0.
+     *
+     * @param x The Jacobian x-coordinates, updated in place.
+     * @param y The Jacobian y-coordinates, updated in place.
+     * @param z The Jacobian z-coordinates, updated in place.
+     * @param t At least five scratch batches of the same size.
+     */
+    private void doubleLanes(SECP256K1FieldBatch x, SECP256K1FieldBatch y,
+                             SECP256K1FieldBatch z, SECP256K1FieldBatch[] t) {
+        SECP256K1FieldBatch a = t[0];
+        SECP256K1FieldBatch b = t[1];
+        SECP256K1FieldBatch c = t[2];
+        SECP256K1FieldBatch d = t[3];
+        SECP256K1FieldBatch e = t[4];
+        SECP256K1FieldBatch.square(a, x);
+        SECP256K1FieldBatch.square(b, y);
+        SECP256K1FieldBatch.square(c, b);
+        // d = 2 * ((x + b)^2 - a - c)
+        SECP256K1FieldBatch.add(d, x, b);
+        SECP256K1FieldBatch.square(d, d);
+        SECP256K1FieldBatch.subtract(d, d, a);
+        SECP256K1FieldBatch.subtract(d, d, c);
+        SECP256K1FieldBatch.add(d, d, d);
+        // e = 3a, z3 = 2 * y * z
+        SECP256K1FieldBatch.multiply(e, a, 3);
+        SECP256K1FieldBatch.multiply(z, y, z);
+        SECP256K1FieldBatch.add(z, z, z);
+        // x3 = e^2 - 2d, y3 = e * (d - x3) - 8c
+        SECP256K1FieldBatch.square(x, e);
+        SECP256K1FieldBatch.subtract(x, x, d);
+        SECP256K1FieldBatch.subtract(x, x, d);
+        SECP256K1FieldBatch.subtract(d, d, x);
+        SECP256K1FieldBatch.multiply(y, e, d);
+        SECP256K1FieldBatch.multiply(c, c, 8);
+        SECP256K1FieldBatch.subtract(y, y, c);
+    }
+
+    /**
+     * Converts a Point to a pair of field elements.
+     *
+     * @param point The Point to convert, which must not be The Point At
+     *              Infinity.
+     *
+     * @return The coordinates of the Point, as an x, y pair of field elements.
+     */
+    private static SECP256K1FieldElement[] toElements(Point point) {
+        return new SECP256K1FieldElement[]{
+                SECP256K1FieldElement.valueOf(point.x()),
+                SECP256K1FieldElement.valueOf(point.y())};
+    }
+
+    /**
+     * Converts a pair of field elements back to a Point.
+     *
+     * @param elements The x, y pair of field elements, or null.
+     *
+     * @return The corresponding Point, or The Point At Infinity for null.
+     */
+    private static Point toPoint(SECP256K1FieldElement[] elements) {
+        if (elements == null) {
+            return Point.INFINITY;
+        }
+        return new Point(elements[0].toBigInteger(),
+                         elements[1].toBigInteger());
+    }
+
+    /**
+     * Converts a Jacobian triple of field elements to a Point with a single
+     * inversion.
+     *
+     * @param elements The x, y, z triple of field elements, or null.
+     *
+     * @return The corresponding Point, or The Point At Infinity for null.
+     */
+    private static Point toAffine(SECP256K1FieldElement[] elements) {
+        if (elements == null) {
+            return Point.INFINITY;
+        }
+        SECP256K1FieldElement zInverse = elements[2].invert();
+        SECP256K1FieldElement zz = zInverse.square();
+        return new Point(elements[0].multiply(zz).toBigInteger(),
+                         elements[1].multiply(zz).multiply(zInverse)
+                                    .toBigInteger());
+    }
+
+    /**
+     * Sets r to abR^-1 mod n, where R = 2^256, using word-by-word Montgomery
+     * multiplication. The accumulator is held in locals rather than an
+     * array, so nothing is allocated, and the final subtraction is masked
+     * rather than branched on.
+     *
+     * @param r The array of four limbs to write the product to, which may be
+     *          the same array as a or b.
+     * @param a The first factor's limbs, less than n.
+     * @param b The second factor's limbs, less than n.
+     */
+    private static void scalarMultiply(long[] r, long[] a, long[] b) {
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+        long t4 = 0;
+        for (int i = 0; i < 4; i++) {
+            long bi = b[i];
+            // t += a * b[i]
+            long lo = a[0] * bi;
+            long hi = Math.unsignedMultiplyHigh(a[0], bi);
+            lo += t0;
+            hi += Long.compareUnsigned(lo, t0) >>> 31;
+            t0 = lo;
+            long c = hi;
+            lo = a[1] * bi;
+            hi = Math.unsignedMultiplyHigh(a[1], bi);
+            lo += t1;
+            hi += Long.compareUnsigned(lo, t1) >>> 31;
+            lo += c;
+            hi += Long.compareUnsigned(lo, c) >>> 31;
+            t1 = lo;
+            c = hi;
+            lo = a[2] * bi;
+            hi = Math.unsignedMultiplyHigh(a[2], bi);
+            lo += t2;
+            hi += Long.compareUnsigned(lo, t2) >>> 31;
+            lo += c;
+            hi += Long.compareUnsigned(lo, c) >>> 31;
+            t2 = lo;
+            c = hi;
+            lo = a[3] * bi;
+            hi = Math.unsignedMultiplyHigh(a[3], bi);
+            lo += t3;
+            hi += Long.compareUnsigned(lo, t3) >>> 31;
+            lo += c;
+            hi += Long.compareUnsigned(lo, c) >>> 31;
+            t3 = lo;
+            c = hi;
+            t4 += c;
+            long t5 = Long.compareUnsigned(t4, c) >>> 31;
+            // t = (t + m * n) / 2^64, with m chosen so the low limb cancels.
+            long m = t0 * N_PRIME;
+            lo = m * N_LIMBS[0];
+            c = Math.unsignedMultiplyHigh(m, N_LIMBS[0]);
+            lo += t0;
+            c += Long.compareUnsigned(lo, t0) >>> 31;
+            lo = m * N_LIMBS[1];
+            hi = Math.unsignedMultiplyHigh(m, N_LIMBS[1]);
+            lo += t1;
+            hi += Long.compareUnsigned(lo, t1) >>> 31;
+            lo += c;
+            hi += Long.compareUnsigned(lo, c) >>> 31;
+            t0 = lo;
+            c = hi;
+            lo = m * N_LIMBS[2];
+            hi = Math.unsignedMultiplyHigh(m, N_LIMBS[2]);
+            lo += t2;
+            hi += Long.compareUnsigned(lo, t2) >>> 31;
+            lo += c;
+            hi += Long.compareUnsigned(lo, c) >>> 31;
+            t1 = lo;
+            c = hi;
+            lo = m * N_LIMBS[3];
+            hi = Math.unsignedMultiplyHigh(m, N_LIMBS[3]);
+            lo += t3;
+            hi += Long.compareUnsigned(lo, t3) >>> 31;
+            lo += c;
+            hi += Long.compareUnsigned(lo, c) >>> 31;
+            t2 = lo;
+            c = hi;
+            t3 = t4 + c;
+            t4 = t5 + (Long.compareUnsigned(t3, c) >>> 31);
+        }
+        // t < 2n, so subtract n once if t >= n.
+        long d0 = t0 - N_LIMBS[0];
+        long borrow = Long.compareUnsigned(t0, N_LIMBS[0]) >>> 31;
+        long x = t1 - N_LIMBS[1];
+        long d1 = x - borrow;
+        borrow = (Long.compareUnsigned(t1, N_LIMBS[1]) >>> 31) |
+                 (Long.compareUnsigned(x, borrow) >>> 31);
+        x = t2 - N_LIMBS[2];
+        long d2 = x - borrow;
+        borrow = (Long.compareUnsigned(t2, N_LIMBS[2]) >>> 31) |
+                 (Long.compareUnsigned(x, borrow) >>> 31);
+        x = t3 - N_LIMBS[3];
+        long d3 = x - borrow;
+        borrow = (Long.compareUnsigned(t3, N_LIMBS[3]) >>> 31) |
+                 (Long.compareUnsigned(x, borrow) >>> 31);
+        long keep = -(borrow & (1 ^ t4));
+        r[0] = (t0 & keep) | (d0 & ~keep);
+        r[1] = (t1 & keep) | (d1 & ~keep);
+        r[2] = (t2 & keep) | (d2 & ~keep);
+        r[3] = (t3 & keep) | (d3 & ~keep);
+    }
+
+    /**
+     * Derives a sliding window addition chain for the low bits of a fixed
+     * exponent.
+     *
+     * @param e      The exponent, as a BigInteger.
+     * @param bits   The number of low bits of e to cover.
+     * @param window The maximum number of bits per window.
+     *
+     * @return The chain, as pairs of a number of squarings and the index i of
+     * the odd power u^(2i+1) to multiply by afterwards, or -1 for none.
+     */
+    private static int[] slidingWindowChain(BigInteger e, int bits,
+                                            int window) {
+        List<Integer> chain = new ArrayList<>();
+        int squarings = 0;
+        int i = bits - 1;
+        while (i >= 0) {
+            if (!e.testBit(i)) {
+                squarings++;
+                i--;
+                continue;
+            }
+            int j = Math.max(i - window + 1, 0);
+            while (!e.testBit(j)) {
+                j++;
+            }
+            int value = e.shiftRight(j).intValue() & ((1 << (i - j + 1)) - 1);
+            chain.add(squarings + i - j + 1);
+            chain.add(value >> 1);
+            squarings = 0;
+            i = j - 1;
+        }
+        if (squarings > 0) {
+            chain.add(squarings);
+            chain.add(-1);
+        }
+        return chain.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Squares a scalar in Montgomery form k times and then multiplies by
+     * another.
+     *
+     * @param r The array of four limbs to write a^(2^k) * b in Montgomery
+     *          form to, which must not be the same array as b.
+     * @param a The limbs of the scalar to square.
+     * @param k The number of squarings, at least 1.
+     * @param b The limbs of the scalar to multiply by afterwards.
+     */
+    private static void scalarSquareMultiply(long[] r, long[] a, int k,
+                                             long[] b) {
+        scalarMultiply(r, a, a);
+        for (int i = 1; i < k; i++) {
+            scalarMultiply(r, r, r);
+        }
+        scalarMultiply(r, r, b);
+    }
+
+    /**
+     * Splits a BigInteger in [0, 2^256) into four 64-bit limbs.
+     *
+     * @param x The value to split, as a BigInteger.
+     *
+     * @return The limbs of x, least significant first.
+     */
+    private static long[] toLimbs(BigInteger x) {
+        long[] limbs = new long[4];
+        toLimbs(limbs, x);
+        return limbs;
+    }
+
+    /**
+     * Splits a BigInteger in [0, 2^256) into four 64-bit limbs, in place.
+     *
+     * @param r The array of four limbs to write to.
+     * @param x The value to split, as a BigInteger.
+     */
+    private static void toLimbs(long[] r, BigInteger x) {
+        for (int i = 0; i < 4; i++) {
+            r[i] = x.shiftRight(64 * i).longValue();
+        }
     }
 }
@@ -0,0 +1,432 @@
+import java.math.BigInteger;
+
+/**
+ * A SECP256K1FieldBatch holds a fixed number of independent secp256k1 field
+ * elements in structure-of-arrays form, so that one operation is applied to
+ * every element at once. Each element is split into ten limbs of 26 bits
+ * (the last limb holds the top 22 bits), and limb k of every element is
+ * stored contiguously. Products of 26-bit limbs fit comfortably in a long,
+ * which lets the SIMD kernel in SECP256K1VectorKernel process as many
+ * elements per instruction as the CPU's vector width allows. When the
+ * jdk.incubator.vector module is not available at runtime the same algorithm
+ * runs one element at a time.
+ * <p>
+ * Reduction is lazy. Additions and subtractions work limb by limb without
+ * carrying, and each batch tracks its magnitude, a bound on the absolute
+ * value of its limbs in units of 2^26. Limbs are only carried when an
+ * addition would take the magnitude past MAX_MAGNITUDE, or when the columns
+ * of a product could overflow a long. A multiplication always leaves
+ * magnitude 1: limbs 0 through 8 in [0, 2^26) and limb 9 near 2^22. The
+ * exact value modulo p is only produced when an element is read back.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public class SECP256K1FieldBatch {
+// Attributes
+
+    /**
+     * A mask selecting the low 26 bits of a limb.
+     */
+    protected static final long M26 = (1L << 26) - 1;
+
+    /**
+     * A mask selecting the low 22 bits of the top limb.
+     */
+    protected static final long M22 = (1L << 22) - 1;
+
+    /**
+     * The low limb of 2^260 mod p = 0x1000003D10, split at 2^26.
+     */
+    protected static final long R0 = 0x3D10;
+
+    /**
+     * The high limb of 2^260 mod p = 0x1000003D10, split at 2^26.
+     */
+    protected static final long R1 = 0x400;
+
+    /**
+     * The low limb of 2^256 mod p = 0x1000003D1, split at 2^26.
+     */
+    protected static final long S0 = 0x3D1;
+
+    /**
+     * The high limb of 2^256 mod p = 0x1000003D1, split at 2^26.
+     */
+    protected static final long S1 = 0x40;
+
+    /**
+     * The limbs of p itself, the only weakly reduced non-zero representation
+     * of zero.
+     */
+    private static final long[] P_LIMBS = toLimbs(SECP256K1FieldElement.P);
+
+    /**
+     * The largest magnitude additions may build up before the limbs are
+     * carried.
+     */
+    private static final int MAX_MAGNITUDE = 32;
+
+    /**
+     * The largest product of the magnitudes of two factors. Each of the ten
+     * terms of a column is then below 2^52 * 128, so a column stays below
+     * 2^63 and the fold of its top part below 2^61.
+     */
+    private static final int MAX_PRODUCT = 128;
+
+    /**
+     * Whether the SIMD kernel can be used in this JVM.
+     */
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule(
+            "jdk.incubator.vector").isPresent();
+
+    /**
+     * The limbs of every element, indexed by limb and then by element.
+     */
+    protected final long[][] limbs;
+
+    /**
+     * The number of elements in this batch.
+     */
+    protected final int size;
+
+    /**
+     * A bound on the absolute value of every limb, in units of 2^26.
+     */
+    private int magnitude;
+
+    /**
+     * Space to carry a single element in without touching the batch.
+     */
+    private final long[] lane = new long[10];
+
+// Constructors
+
+    /**
+     * Constructs a new batch of the given number of elements, all zero.
+     *
+     * @param size The number of elements.
+     */
+    protected SECP256K1FieldBatch(int size) {
+        this.size = size;
+        this.limbs = new long[10][size];
+        this.magnitude = 1;
+    }
+
+// Methods
+
+    /**
+     * Sets r to a + b, element by element.
+     *
+     * @param r The batch to write the sums to, which may be a or b.
+     * @param a The first addends.
+     * @param b The second addends.
+     */
+    protected static void add(SECP256K1FieldBatch r, SECP256K1FieldBatch a,
+                              SECP256K1FieldBatch b) {
+        int magnitude = a.magnitude + b.magnitude;
+        for (int k = 0; k < 10; k++) {
+            long[] rk = r.limbs[k];
+            long[] ak = a.limbs[k];
+            long[] bk = b.limbs[k];
+            for (int i = 0; i < r.size; i++) {
+                rk[i] = ak[i] + bk[i];
+            }
+        }
+        settle(r, magnitude);
+    }
+
+    /**
+     * Sets r to a - b, element by element.
+     *
+     * @param r The batch to write the differences to, which may be a or b.
+     * @param a The minuends.
+     * @param b The subtrahends.
+     */
+    protected static void subtract(SECP256K1FieldBatch r,
+                                   SECP256K1FieldBatch a,
+                                   SECP256K1FieldBatch b) {
+        int magnitude = a.magnitude + b.magnitude;
+        for (int k = 0; k < 10; k++) {
+            long[] rk = r.limbs[k];
+            long[] ak = a.limbs[k];
+            long[] bk = b.limbs[k];
+            for (int i = 0; i < r.size; i++) {
+                rk[i] = ak[i] - bk[i];
+            }
+        }
+        settle(r, magnitude);
+    }
+
+    /**
+     * Sets r to c * a for a small constant c, element by element.
+     *
+     * @param r The batch to write the products to, which may be a.
+     * @param a The elements to scale.
+     * @param c The constant, which must be less than 2^8.
+     */
+    protected static void multiply(SECP256K1FieldBatch r,
+                                   SECP256K1FieldBatch a, int c) {
+        int magnitude = a.magnitude * c;
+        for (int k = 0; k < 10; k++) {
+            long[] rk = r.limbs[k];
+            long[] ak = a.limbs[k];
+            for (int i = 0; i < r.size; i++) {
+                rk[i] = ak[i] * c;
+            }
+        }
+        settle(r, magnitude);
+    }
+
+    /**
+     * Sets r to a * b, element by element, using the SIMD kernel when it is
+     * available. If the product of the magnitudes is too large, the larger
+     * factor is carried first, which changes its limbs but not its value.
+     *
+     * @param r The batch to write the products to, which may be a or b.
+     * @param a The first factors.
+     * @param b The second factors.
+     */
+    protected static void multiply(SECP256K1FieldBatch r,
+                                   SECP256K1FieldBatch a,
+                                   SECP256K1FieldBatch b) {
+        while (a.magnitude * b.magnitude > MAX_PRODUCT) {
+            carry(a.magnitude >= b.magnitude ? a : b);
+        }
+        int start = 0;
+        if (VECTORIZED) {
+            start = SECP256K1VectorKernel.multiply(r.limbs, a.limbs, b.limbs,
+                                                   r.size);
+        }
+        long[] c = new long[20];
+        for (int i = start; i < r.size; i++) {
+            for (int j = 0; j < 20; j++) {
+                c[j] = 0;
+            }
+            for (int x = 0; x < 10; x++) {
+                long ax = a.limbs[x][i];
+                for (int y = 0; y < 10; y++) {
+                    c[x + y] += ax * b.limbs[y][i];
+                }
+            }
+            reduce(c);
+            for (int k = 0; k < 10; k++) {
+                r.limbs[k][i] = c[k];
+            }
+        }
+        r.magnitude = 1;
+    }
+
+    /**
+     * Sets r to a^2, element by element.
+     *
+     * @param r The batch to write the squares to, which may be a.
+     * @param a The elements to square.
+     */
+    protected static void square(SECP256K1FieldBatch r,
+                                 SECP256K1FieldBatch a) {
+        multiply(r, a, a);
+    }
+
+    /**
+     * Sets r to b in the elements where select is true and to a elsewhere.
+     *
+     * @param r      The batch to write the choices to, which may be a or b.
+     * @param a      The elements to keep where select is false.
+     * @param b      The elements to take where select is true.
+     * @param select The choice for each element.
+     */
+    protected static void select(SECP256K1FieldBatch r, SECP256K1FieldBatch a,
+                                 SECP256K1FieldBatch b, boolean[] select) {
+        int magnitude = Math.max(a.magnitude, b.magnitude);
+        for (int k = 0; k < 10; k++) {
+            long[] rk = r.limbs[k];
+            long[] ak = a.limbs[k];
+            long[] bk = b.limbs[k];
+            for (int i = 0; i < r.size; i++) {
+                rk[i] = select[i] ? bk[i] : ak[i];
+            }
+        }
+        r.magnitude = magnitude;
+    }
+
+    /**
+     * Copies the elements of one batch to another of the same size.
+     *
+     * @param r The batch to copy to.
+     * @param a The batch to copy from.
+     */
+    protected static void copy(SECP256K1FieldBatch r, SECP256K1FieldBatch a) {
+        for (int k = 0; k < 10; k++) {
+            System.arraycopy(a.limbs[k], 0, r.limbs[k], 0, r.size);
+        }
+        r.magnitude = a.magnitude;
+    }
+
+    /**
+     * Sets one element of this batch.
+     *
+     * @param i     The index of the element.
+     * @param value The value to store, as a BigInteger.
+     */
+    protected void set(int i, BigInteger value) {
+        long[] l = toLimbs(value.mod(SECP256K1FieldElement.P));
+        for (int k = 0; k < 10; k++) {
+            this.limbs[k][i] = l[k];
+        }
+    }
+
+    /**
+     * Reads one element of this batch, fully reduced.
+     *
+     * @param i The index of the element.
+     *
+     * @return The element, as a SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement get(int i) {
+        BigInteger value = BigInteger.ZERO;
+        for (int k = 9; k >= 0; k--) {
+            value = value.shiftLeft(26)
+                         .add(BigInteger.valueOf(this.limbs[k][i]));
+        }
+        return SECP256K1FieldElement.valueOf(value);
+    }
+
+    /**
+     * Determines whether one element of this batch is zero modulo p.
+     *
+     * @param i The index of the element.
+     *
+     * @return True if the element is congruent to zero, False otherwise.
+     */
+    protected boolean isZero(int i) {
+        long[] l = this.lane;
+        for (int k = 0; k < 10; k++) {
+            l[k] = this.limbs[k][i];
+        }
+        carry(l);
+        // Once carried, the value lies in (-p, 2p), so it is either 0 or p.
+        boolean zero = true;
+        boolean p = true;
+        for (int k = 0; k < 10; k++) {
+            zero &= l[k] == 0;
+            p &= l[k] == P_LIMBS[k];
+        }
+        return zero || p;
+    }
+
+    /**
+     * Brings the 20 columns of a product down to ten weakly reduced limbs,
+     * which are left in the first ten columns.
+     *
+     * @param c The columns, each below 2^57 in magnitude, modified in place.
+     */
+    private static void reduce(long[] c) {
+        // Carry every column down to 26 bits; column 19 catches the rest.
+        c[19] = 0;
+        for (int k = 0; k < 19; k++) {
+            c[k + 1] += c[k] >> 26;
+            c[k] &= M26;
+        }
+        // Column k >= 10 has weight 2^260 * 2^(26(k-10)) and 2^260 = R1 *
+        // 2^26 + R0 mod p, so fold it down ten limbs.
+        long top = 0;
+        for (int k = 19; k >= 10; k--) {
+            long ck = c[k];
+            if (k == 19) {
+                top += ck * R1;
+            } else {
+                c[k - 9] += ck * R1;
+            }
+            c[k - 10] += ck * R0;
+        }
+        // top has weight 2^260; fold it and the bits of limb 9 above 2^256
+        // back using 2^256 = S1 * 2^26 + S0 mod p.
+        for (int k = 0; k < 9; k++) {
+            c[k + 1] += c[k] >> 26;
+            c[k] &= M26;
+        }
+        long over = (c[9] >> 22) + (top << 4);
+        c[9] &= M22;
+        c[0] += over * S0;
+        c[1] += over * S1;
+        for (int k = 0; k < 9; k++) {
+            c[k + 1] += c[k] >> 26;
+            c[k] &= M26;
+        }
+    }
+
+    /**
+     * Carries the limbs of every element of a batch, bringing it back to
+     * magnitude 1.
+     *
+     * @param r The batch to carry, modified in place.
+     */
+    private static void carry(SECP256K1FieldBatch r) {
+        long[][] l = r.limbs;
+        for (int i = 0; i < r.size; i++) {
+            for (int k = 0; k < 9; k++) {
+                l[k + 1][i] += l[k][i] >> 26;
+                l[k][i] &= M26;
+            }
+            long over = l[9][i] >> 22;
+            l[9][i] &= M22;
+            l[0][i] += over * S0;
+            l[1][i] += over * S1;
+            for (int k = 0; k < 9; k++) {
+                l[k + 1][i] += l[k][i] >> 26;
+                l[k][i] &= M26;
+            }
+        }
+        r.magnitude = 1;
+    }
+
+    /**
+     * Carries the limbs of a single element.
+     *
+     * @param l The ten limbs of the element, modified in place.
+     */
+    private static void carry(long[] l) {
+        for (int k = 0; k < 9; k++) {
+            l[k + 1] += l[k] >> 26;
+            l[k] &= M26;
+        }
+        long over = l[9] >> 22;
+        l[9] &= M22;
+        l[0] += over * S0;
+        l[1] += over * S1;
+        for (int k = 0; k < 9; k++) {
+            l[k + 1] += l[k] >> 26;
+            l[k] &= M26;
+        }
+    }
+
+    /**
+     * Records the magnitude of a batch after limb-wise arithmetic, carrying
+     * its limbs if it has grown too large.
+     *
+     * @param r         The batch that was written to.
+     * @param magnitude The bound on its limbs, in units of 2^26.
+     */
+    private static void settle(SECP256K1FieldBatch r, int magnitude) {
+        r.magnitude = magnitude;
+        if (magnitude > MAX_MAGNITUDE) {
+            carry(r);
+        }
+    }
+
+    /**
+     * Splits a value below 2^256 into ten 26-bit limbs.
+     *
+     * @param value The value to split, as a BigInteger.
+     *
+     * @return The limbs, least significant first.
+     */
+    private static long[] toLimbs(BigInteger value) {
+        long[] l = new long[10];
+        for (int k = 0; k < 10; k++) {
+            l[k] = value.shiftRight(26 * k).longValue() & M26;
+        }
+        return l;
+    }
+}
@@ -0,0 +1,946 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A SECP256K1FieldElement represents an element of the prime field underlying
+ * the secp256k1 curve, where p = 2^256 - 2^32 - 977. The value is held in four
+ * 64-bit limbs (least significant first), so the arithmetic never touches a
+ * BigInteger. Because 2^256 is congruent to 2^32 + 977 modulo p, reduction
+ * only has to fold the high half of a product back into the low half instead
+ * of performing a long division.
+ * <p>
+ * Elements are normally fully reduced. The lazy additions and subtractions
+ * skip the final reduction instead: they keep any overflow above 2^256 in a
+ * separate top word and track a magnitude, a bound on the value in units of
+ * p, the way SECP256K1FieldBatch does for its limbs. Products fold the top
+ * word of their factors in first and are always fully reduced, and every
+ * comparison or conversion reduces a lazy element before looking at it.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public final class SECP256K1FieldElement {
+// Attributes
+
+    /**
+     * The prime number this field is defined over, as a BigInteger.
+     */
+    protected static final BigInteger P = new BigInteger(
+            "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F",
+            16);
+
+    /**
+     * The additive identity of this field, as a SECP256K1FieldElement.
+     */
+    protected static final SECP256K1FieldElement ZERO =
+            new SECP256K1FieldElement(new long[4]);
+
+    /**
+     * The multiplicative identity of this field, as a SECP256K1FieldElement.
+     */
+    protected static final SECP256K1FieldElement ONE =
+            new SECP256K1FieldElement(new long[]{1, 0, 0, 0});
+
+    /**
+     * The value 2^256 - p = 2^32 + 977, used to fold anything at or above
+     * 2^256 back into the low four limbs.
+     */
+    private static final long C = 0x1000003D1L;
+
+    /**
+     * The limbs of p, least significant first.
+     */
+    private static final long[] P_LIMBS =
+            {0xFFFFFFFEFFFFFC2FL, -1L, -1L, -1L};
+
+    /**
+     * The safegcd context used to invert elements modulo p.
+     */
+    private static final SafeGcdContext INVERSION = new SafeGcdContext(P);
+
+    /**
+     * The largest magnitude lazy additions and subtractions may build up
+     * before their operands are reduced.
+     */
+    private static final int MAX_MAGNITUDE = 32;
+
+    /**
+     * A mask selecting the low 64 bits of a BigInteger.
+     */
+    private static final BigInteger LIMB_MASK =
+            BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+
+    /**
+     * The four limbs of this element, least significant first.
+     */
+    private final long[] limbs;
+
+    /**
+     * The multiple of 2^256 held above the four limbs, which is only non-zero
+     * for lazy elements.
+     */
+    private final long top;
+
+    /**
+     * A bound on the value of this element in units of p. A fully reduced
+     * element has magnitude 1.
+     */
+    private final int magnitude;
+
+// Constructors
+
+    /**
+     * Constructs a new field element from the given limbs, which must already
+     * be fully reduced. The array is not copied.
+     *
+     * @param limbs The four limbs of the element, least significant first.
+     */
+    private SECP256K1FieldElement(long[] limbs) {
+        this(limbs, 0, 1);
+    }
+
+    /**
+     * Constructs a new, possibly lazy, field element whose value is limbs +
+     * top * 2^256. The array is not copied.
+     *
+     * @param limbs     The low four limbs of the element, least significant
+     *                  first.
+     * @param top       The multiple of 2^256 above the limbs.
+     * @param magnitude A bound on the value in units of p.
+     */
+    private SECP256K1FieldElement(long[] limbs, long top, int magnitude) {
+        this.limbs = limbs;
+        this.top = top;
+        this.magnitude = magnitude;
+    }
+
+// Methods
+
+    /**
+     * Converts a BigInteger to a field element, reducing it modulo p first.
+     *
+     * @param value The value to convert, as a BigInteger.
+     *
+     * @return The equivalent SECP256K1FieldElement.
+     */
+    protected static SECP256K1FieldElement valueOf(BigInteger value) {
+        long[] limbs = new long[4];
+        load(limbs, value);
+        return new SECP256K1FieldElement(limbs);
+    }
+
+    /**
+     * Writes the limbs of a BigInteger, reduced modulo p, into an array.
+     *
+     * @param r     The array of four limbs to write to.
+     * @param value The value to convert, as a BigInteger.
+     */
+    protected static void load(long[] r, BigInteger value) {
+        value = value.mod(P);
+        for (int i = 0; i < 4; i++) {
+            r[i] = value.shiftRight(64 * i).and(LIMB_MASK).longValue();
+        }
+    }
+
+    /**
+     * Converts an array of four fully reduced limbs to a BigInteger.
+     *
+     * @param a The limbs to convert, least significant first.
+     *
+     * @return The value of the limbs, as a BigInteger.
+     */
+    protected static BigInteger store(long[] a) {
+        byte[] bytes = new byte[33];
+        for (int i = 0; i < 4; i++) {
+            long limb = a[i];
+            for (int j = 0; j < 8; j++) {
+                bytes[32 - 8 * i - j] = (byte) (limb >>> (8 * j));
+            }
+        }
+        return new BigInteger(bytes);
+    }
+
+    /**
+     * Sets r to a + b modulo p.
+     *
+     * @param r The array of four limbs to write the sum to.
+     * @param a The first addend's limbs.
+     * @param b The second addend's limbs.
+     */
+    protected static void add(long[] r, long[] a, long[] b) {
+        long s0 = a[0] + b[0];
+        long c = carry(s0, a[0]);
+        long s1 = a[1] + c;
+        c = carry(s1, c);
+        s1 += b[1];
+        c += carry(s1, b[1]);
+        long s2 = a[2] + c;
+        c = carry(s2, c);
+        s2 += b[2];
+        c += carry(s2, b[2]);
+        long s3 = a[3] + c;
+        c = carry(s3, c);
+        s3 += b[3];
+        c += carry(s3, b[3]);
+        // s - p = s + C - 2^256, so adding C overflows exactly when s >= p.
+        long u0 = s0 + C;
+        long d = carry(u0, C);
+        long u1 = s1 + d;
+        d = carry(u1, d);
+        long u2 = s2 + d;
+        d = carry(u2, d);
+        long u3 = s3 + d;
+        d = carry(u3, d);
+        long mask = -(c | d);
+        r[0] = (u0 & mask) | (s0 & ~mask);
+        r[1] = (u1 & mask) | (s1 & ~mask);
+        r[2] = (u2 & mask) | (s2 & ~mask);
+        r[3] = (u3 & mask) | (s3 & ~mask);
+    }
+
+    /**
+     * Sets r to a - b modulo p.
+     *
+     * @param r The array of four limbs to write the difference to.
+     * @param a The minuend's limbs.
+     * @param b The subtrahend's limbs.
+     */
+    protected static void subtract(long[] r, long[] a, long[] b) {
+        long d0 = a[0] - b[0];
+        long w = borrow(a[0], b[0]);
+        long t = a[1] - b[1];
+        long d1 = t - w;
+        w = borrow(a[1], b[1]) | borrow(t, w);
+        t = a[2] - b[2];
+        long d2 = t - w;
+        w = borrow(a[2], b[2]) | borrow(t, w);
+        t = a[3] - b[3];
+        long d3 = t - w;
+        w = borrow(a[3], b[3]) | borrow(t, w);
+        // A borrow means the difference wrapped by 2^256; adding p back is
+        // the same as subtracting C.
+        long k = C & -w;
+        long e = borrow(d0, k);
+        r[0] = d0 - k;
+        r[1] = d1 - e;
+        e = borrow(d1, e);
+        r[2] = d2 - e;
+        e = borrow(d2, e);
+        r[3] = d3 - e;
+    }
+
+    /**
+     * Sets r to a * b modulo p.
+     *
+     * @param r The array of four limbs to write the product to.
+     * @param a The first factor's limbs.
+     * @param b The second factor's limbs.
+     */
+    protected static void multiply(long[] r, long[] a, long[] b) {
+        long a0 = a[0];
+        long a1 = a[1];
+        long a2 = a[2];
+        long a3 = a[3];
+        long b0 = b[0];
+        long b1 = b[1];
+        long b2 = b[2];
+        long b3 = b[3];
+        long lo;
+        long hi;
+        long h;
+        long c0 = 0;
+        long c1 = 0;
+        long c2 = 0;
+        lo = a0 * b0;
+        hi = Math.unsignedMultiplyHigh(a0, b0);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t0 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a0 * b1;
+        hi = Math.unsignedMultiplyHigh(a0, b1);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a1 * b0;
+        hi = Math.unsignedMultiplyHigh(a1, b0);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t1 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a0 * b2;
+        hi = Math.unsignedMultiplyHigh(a0, b2);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a1 * b1;
+        hi = Math.unsignedMultiplyHigh(a1, b1);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a2 * b0;
+        hi = Math.unsignedMultiplyHigh(a2, b0);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t2 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a0 * b3;
+        hi = Math.unsignedMultiplyHigh(a0, b3);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a1 * b2;
+        hi = Math.unsignedMultiplyHigh(a1, b2);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a2 * b1;
+        hi = Math.unsignedMultiplyHigh(a2, b1);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a3 * b0;
+        hi = Math.unsignedMultiplyHigh(a3, b0);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t3 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a1 * b3;
+        hi = Math.unsignedMultiplyHigh(a1, b3);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a2 * b2;
+        hi = Math.unsignedMultiplyHigh(a2, b2);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a3 * b1;
+        hi = Math.unsignedMultiplyHigh(a3, b1);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t4 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a2 * b3;
+        hi = Math.unsignedMultiplyHigh(a2, b3);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a3 * b2;
+        hi = Math.unsignedMultiplyHigh(a3, b2);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t5 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a3 * b3;
+        hi = Math.unsignedMultiplyHigh(a3, b3);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t6 = c0;
+        c0 = c1;
+        c1 = c2;
+        long t7 = c0;
+
+        reduce(r, t0, t1, t2, t3, t4, t5, t6, t7);
+    }
+
+    /**
+     * Sets r to a^2 modulo p. Each cross product is computed once and added
+     * twice, so squaring needs 10 limb multiplications instead of 16.
+     *
+     * @param r The array of four limbs to write the square to.
+     * @param a The limbs to square.
+     */
+    protected static void square(long[] r, long[] a) {
+        long a0 = a[0];
+        long a1 = a[1];
+        long a2 = a[2];
+        long a3 = a[3];
+        long lo;
+        long hi;
+        long h;
+        long c0 = 0;
+        long c1 = 0;
+        long c2 = 0;
+        lo = a0 * a0;
+        hi = Math.unsignedMultiplyHigh(a0, a0);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t0 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a0 * a1;
+        hi = Math.unsignedMultiplyHigh(a0, a1);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t1 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a0 * a2;
+        hi = Math.unsignedMultiplyHigh(a0, a2);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a1 * a1;
+        hi = Math.unsignedMultiplyHigh(a1, a1);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t2 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a0 * a3;
+        hi = Math.unsignedMultiplyHigh(a0, a3);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a1 * a2;
+        hi = Math.unsignedMultiplyHigh(a1, a2);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t3 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a1 * a3;
+        hi = Math.unsignedMultiplyHigh(a1, a3);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        lo = a2 * a2;
+        hi = Math.unsignedMultiplyHigh(a2, a2);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t4 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a2 * a3;
+        hi = Math.unsignedMultiplyHigh(a2, a3);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t5 = c0;
+        c0 = c1;
+        c1 = c2;
+        c2 = 0;
+        lo = a3 * a3;
+        hi = Math.unsignedMultiplyHigh(a3, a3);
+        c0 += lo;
+        h = hi + carry(c0, lo);
+        c1 += h;
+        c2 += carry(c1, h);
+        long t6 = c0;
+        c0 = c1;
+        c1 = c2;
+        long t7 = c0;
+
+        reduce(r, t0, t1, t2, t3, t4, t5, t6, t7);
+    }
+
+    /**
+     * Returns the sum of this element and another.
+     *
+     * @param other The other addend, as a SECP256K1FieldElement.
+     *
+     * @return The sum modulo p, as a SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement add(SECP256K1FieldElement other) {
+        long[] r = new long[4];
+        add(r, this.reduced(), other.reduced());
+        return new SECP256K1FieldElement(r);
+    }
+
+    /**
+     * Returns the sum of this element and another without reducing it. The
+     * carry out of the four limbs is kept in the top word, and the magnitude
+     * of the sum is the sum of the magnitudes. If that would pass
+     * MAX_MAGNITUDE the addends are reduced first.
+     *
+     * @param other The other addend, as a SECP256K1FieldElement.
+     *
+     * @return The lazy sum, as a SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement addLazy(SECP256K1FieldElement other) {
+        if (this.magnitude + other.magnitude > MAX_MAGNITUDE) {
+            return this.add(other);
+        }
+        long[] a = this.limbs;
+        long[] b = other.limbs;
+        long[] r = new long[4];
+        r[0] = a[0] + b[0];
+        long c = carry(r[0], a[0]);
+        long t = a[1] + c;
+        c = carry(t, c);
+        r[1] = t + b[1];
+        c += carry(r[1], b[1]);
+        t = a[2] + c;
+        c = carry(t, c);
+        r[2] = t + b[2];
+        c += carry(r[2], b[2]);
+        t = a[3] + c;
+        c = carry(t, c);
+        r[3] = t + b[3];
+        c += carry(r[3], b[3]);
+        return new SECP256K1FieldElement(r, this.top + other.top + c,
+                                         this.magnitude + other.magnitude);
+    }
+
+    /**
+     * Returns the difference of this element and another.
+     *
+     * @param other The subtrahend, as a SECP256K1FieldElement.
+     *
+     * @return The difference modulo p, as a SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement subtract(SECP256K1FieldElement other) {
+        long[] r = new long[4];
+        subtract(r, this.reduced(), other.reduced());
+        return new SECP256K1FieldElement(r);
+    }
+
+    /**
+     * Returns the difference of this element and another without reducing
+     * it. The subtrahend is below m * p, where m is its magnitude, so m * p =
+     * m * 2^256 - m * C is added to keep the difference non-negative, and the
+     * magnitude of the difference is the sum of the magnitudes. If that would
+     * pass MAX_MAGNITUDE the operands are reduced first.
+     *
+     * @param other The subtrahend, as a SECP256K1FieldElement.
+     *
+     * @return The lazy difference, as a SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement subtractLazy(
+            SECP256K1FieldElement other) {
+        if (this.magnitude + other.magnitude > MAX_MAGNITUDE) {
+            return this.subtract(other);
+        }
+        long[] a = this.limbs;
+        long[] b = other.limbs;
+        long d0 = a[0] - b[0];
+        long w = borrow(a[0], b[0]);
+        long t = a[1] - b[1];
+        long d1 = t - w;
+        w = borrow(a[1], b[1]) | borrow(t, w);
+        t = a[2] - b[2];
+        long d2 = t - w;
+        w = borrow(a[2], b[2]) | borrow(t, w);
+        t = a[3] - b[3];
+        long d3 = t - w;
+        w = borrow(a[3], b[3]) | borrow(t, w);
+        // Subtract the m * C part of m * p; the m * 2^256 part goes to the
+        // top word along with both borrows.
+        long k = other.magnitude * C;
+        long[] r = new long[4];
+        r[0] = d0 - k;
+        long e = borrow(d0, k);
+        r[1] = d1 - e;
+        e = borrow(d1, e);
+        r[2] = d2 - e;
+        e = borrow(d2, e);
+        r[3] = d3 - e;
+        e = borrow(d3, e);
+        return new SECP256K1FieldElement(
+                r, this.top - other.top + other.magnitude - w - e,
+                this.magnitude + other.magnitude);
+    }
+
+    /**
+     * Returns the product of this element and another.
+     *
+     * @param other The other factor, as a SECP256K1FieldElement.
+     *
+     * @return The product modulo p, as a SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement multiply(SECP256K1FieldElement other) {
+        long[] r = new long[4];
+        multiply(r, this.folded(), other.folded());
+        return new SECP256K1FieldElement(r);
+    }
+
+    /**
+     * Returns the square of this element.
+     *
+     * @return The square modulo p, as a SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement square() {
+        long[] r = new long[4];
+        square(r, this.folded());
+        return new SECP256K1FieldElement(r);
+    }
+
+    /**
+     * Returns the additive inverse of this element.
+     *
+     * @return -this modulo p, as a SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement negate() {
+        long[] r = new long[4];
+        subtract(r, ZERO.limbs, this.reduced());
+        return new SECP256K1FieldElement(r);
+    }
+
+    /**
+     * Returns the multiplicative inverse of this element.
+     *
+     * @return The inverse modulo p, as a SECP256K1FieldElement.
+     *
+     * @throws ArithmeticException If this element is zero.
+     */
+    protected SECP256K1FieldElement invert() {
+        long[] r = new long[4];
+        INVERSION.invert(r, this.reduced());
+        return new SECP256K1FieldElement(r);
+    }
+
+    /**
+     * Returns the multiplicative inverse of this element by Fermat's little
+     * theorem, as this^(p-2). The exponent is fixed, so it is computed with
+     * the well-known addition chain of 255 squarings and 15 multiplications,
+     * and every input takes exactly the same sequence of operations.
+     *
+     * @return The inverse modulo p, or zero if this element is zero, as a
+     * SECP256K1FieldElement.
+     */
+    protected SECP256K1FieldElement invertFermat() {
+        long[] a = this.reduced();
+        // xk holds a^(2^k - 1), a run of k one bits in the exponent.
+        long[] x2 = new long[4];
+        square(x2, a);
+        multiply(x2, x2, a);
+        long[] x3 = new long[4];
+        square(x3, x2);
+        multiply(x3, x3, a);
+        long[] x6 = new long[4];
+        squareTimes(x6, x3, 3);
+        multiply(x6, x6, x3);
+        long[] x9 = new long[4];
+        squareTimes(x9, x6, 3);
+        multiply(x9, x9, x3);
+        long[] x11 = new long[4];
+        squareTimes(x11, x9, 2);
+        multiply(x11, x11, x2);
+        long[] x22 = new long[4];
+        squareTimes(x22, x11, 11);
+        multiply(x22, x22, x11);
+        long[] x44 = new long[4];
+        squareTimes(x44, x22, 22);
+        multiply(x44, x44, x22);
+        long[] x88 = new long[4];
+        squareTimes(x88, x44, 44);
+        multiply(x88, x88, x44);
+        long[] x176 = new long[4];
+        squareTimes(x176, x88, 88);
+        multiply(x176, x176, x88);
+        long[] x220 = new long[4];
+        squareTimes(x220, x176, 44);
+        multiply(x220, x220, x44);
+        long[] x223 = new long[4];
+        squareTimes(x223, x220, 3);
+        multiply(x223, x223, x3);
+        // p - 2 is 223 ones followed by 0, 22 ones, 0000, 1, 0, 11, 0, 1.
+        long[] r = new long[4];
+        squareTimes(r, x223, 23);
+        multiply(r, r, x22);
+        squareTimes(r, r, 5);
+        multiply(r, r, a);
+        squareTimes(r, r, 3);
+        multiply(r, r, x2);
+        squareTimes(r, r, 2);
+        multiply(r, r, a);
+        return new SECP256K1FieldElement(r);
+    }
+
+    /**
+     * Computes the Legendre symbol of this element with the binary Jacobi
+     * algorithm on the limbs, which is much cheaper than Euler's criterion.
+     *
+     * @return 1 if this element is a non-zero square, -1 if it is not a
+     * square and 0 if it is zero.
+     */
+    protected int jacobi() {
+        return Modular.jacobi(this.reduced().clone(), P_LIMBS.clone());
+    }
+
+    /**
+     * Returns a boolean which is True if this element is zero.
+     *
+     * @return True if this element is zero, False otherwise.
+     */
+    protected boolean isZero() {
+        long[] a = this.reduced();
+        return (a[0] | a[1] | a[2] | a[3]) == 0;
+    }
+
+    /**
+     * Converts this element to a BigInteger.
+     *
+     * @return The value of this element in [0, p-1], as a BigInteger.
+     */
+    protected BigInteger toBigInteger() {
+        return store(this.reduced());
+    }
+
+    /**
+     * Returns a boolean which is True if the given object is a
+     * SECP256K1FieldElement with the same value as this one.
+     *
+     * @param o The object to compare this element to.
+     *
+     * @return True if the two elements are equal, False otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SECP256K1FieldElement other &&
+               Arrays.equals(this.reduced(), other.reduced());
+    }
+
+    /**
+     * Returns a hash code for this element.
+     *
+     * @return A hash code for this element.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.reduced());
+    }
+
+    /**
+     * Returns a String representation of this element.
+     *
+     * @return A String representation of this element.
+     */
+    @Override
+    public String toString() {
+        return this.toBigInteger().toString();
+    }
+
+    /**
+     * Returns four limbs congruent to this element modulo p and below 2^256,
+     * folding the top word back in with 2^256 = C mod p. Products accept
+     * such limbs directly.
+     *
+     * @return The folded limbs, which are the limbs of this element itself if
+     * its top word is zero.
+     */
+    private long[] folded() {
+        if (this.top == 0) {
+            return this.limbs;
+        }
+        long[] a = this.limbs;
+        long[] r = new long[4];
+        // top is below MAX_MAGNITUDE, so top * C fits in one limb.
+        long k = this.top * C;
+        r[0] = a[0] + k;
+        long c = carry(r[0], k);
+        r[1] = a[1] + c;
+        c = carry(r[1], c);
+        r[2] = a[2] + c;
+        c = carry(r[2], c);
+        r[3] = a[3] + c;
+        c = carry(r[3], c);
+        // Whatever wrapped past 2^256 left the limbs tiny, so folding one
+        // more C cannot carry.
+        r[0] += C & -c;
+        return r;
+    }
+
+    /**
+     * Returns the fully reduced limbs of this element.
+     *
+     * @return The limbs of the value in [0, p-1], which are the limbs of this
+     * element itself if it has magnitude 1.
+     */
+    private long[] reduced() {
+        if (this.magnitude == 1) {
+            return this.limbs;
+        }
+        long[] a = this.folded();
+        long[] r = new long[4];
+        // a is below 2^256 < 2p, so one conditional subtraction finishes.
+        add(r, a, ZERO.limbs);
+        return r;
+    }
+
+    /**
+     * Reduces the 512-bit value t7:...:t0 modulo p into r. The high half is
+     * multiplied by C and folded onto the low half twice, after which at most
+     * one subtraction of p remains.
+     *
+     * @param r The array of four limbs to write the result to.
+     */
+    private static void reduce(long[] r, long t0, long t1, long t2, long t3,
+                               long t4, long t5, long t6, long t7) {
+        // First fold: t[0..3] + t[4..7] * C, a value below 2^290.
+        long lo = t4 * C;
+        long hi = Math.unsignedMultiplyHigh(t4, C);
+        long r0 = t0 + lo;
+        long c = hi + carry(r0, lo);
+        lo = t5 * C;
+        hi = Math.unsignedMultiplyHigh(t5, C);
+        long r1 = t1 + lo;
+        hi += carry(r1, lo);
+        r1 += c;
+        c = hi + carry(r1, c);
+        lo = t6 * C;
+        hi = Math.unsignedMultiplyHigh(t6, C);
+        long r2 = t2 + lo;
+        hi += carry(r2, lo);
+        r2 += c;
+        c = hi + carry(r2, c);
+        lo = t7 * C;
+        hi = Math.unsignedMultiplyHigh(t7, C);
+        long r3 = t3 + lo;
+        hi += carry(r3, lo);
+        r3 += c;
+        c = hi + carry(r3, c);
+        // Second fold: the remaining carry is below 2^34, so c * C fits in
+        // two limbs and can overflow 2^256 at most once more.
+        lo = c * C;
+        hi = Math.unsignedMultiplyHigh(c, C);
+        r0 += lo;
+        c = hi + carry(r0, lo);
+        r1 += c;
+        c = carry(r1, c);
+        r2 += c;
+        c = carry(r2, c);
+        r3 += c;
+        c = carry(r3, c);
+        // If that overflowed, what is left is tiny, so one more C suffices.
+        lo = C & -c;
+        r0 += lo;
+        c = carry(r0, lo);
+        r1 += c;
+        c = carry(r1, c);
+        r2 += c;
+        c = carry(r2, c);
+        r3 += c;
+        // Final conditional subtraction of p.
+        long u0 = r0 + C;
+        long d = carry(u0, C);
+        long u1 = r1 + d;
+        d = carry(u1, d);
+        long u2 = r2 + d;
+        d = carry(u2, d);
+        long u3 = r3 + d;
+        d = carry(u3, d);
+        long mask = -d;
+        r[0] = (u0 & mask) | (r0 & ~mask);
+        r[1] = (u1 & mask) | (r1 & ~mask);
+        r[2] = (u2 & mask) | (r2 & ~mask);
+        r[3] = (u3 & mask) | (r3 & ~mask);
+    }
+
+    /**
+     * Sets r to a^(2^k) modulo p by squaring k times.
+     *
+     * @param r The array of four limbs to write the result to.
+     * @param a The limbs to square.
+     * @param k The number of squarings, at least 1.
+     */
+    private static void squareTimes(long[] r, long[] a, int k) {
+        square(r, a);
+        for (int i = 1; i < k; i++) {
+            square(r, r);
+        }
+    }
+
+    /**
+     * Determines the carry out of an unsigned 64-bit addition.
+     *
+     * @param sum    The wrapped sum.
+     * @param addend Either of the two addends.
+     *
+     * @return 1 if the addition overflowed, 0 otherwise.
+     */
+    private static long carry(long sum, long addend) {
+        return Long.compareUnsigned(sum, addend) >>> 31;
+    }
+
+    /**
+     * Determines the borrow out of an unsigned 64-bit subtraction.
+     *
+     * @param minuend    The minuend.
+     * @param subtrahend The subtrahend.
+     *
+     * @return 1 if the subtraction underflowed, 0 otherwise.
+     */
+    private static long borrow(long minuend, long subtrahend) {
+        return Long.compareUnsigned(minuend, subtrahend) >>> 31;
+    }
+}
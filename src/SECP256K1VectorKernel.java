@@ -0,0 +1,129 @@
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SECP256K1VectorKernel is the SIMD half of SECP256K1FieldBatch. It computes
+ * the same radix-2^26 products, but for as many field elements at once as
+ * fit in the CPU's preferred vector shape. It is only loaded when the
+ * jdk.incubator.vector module is present, so nothing else may refer to the
+ * vector classes directly.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public final class SECP256K1VectorKernel {
+// Attributes
+
+    /**
+     * The widest vector shape the CPU handles natively.
+     */
+    private static final VectorSpecies<Long> SPECIES =
+            LongVector.SPECIES_PREFERRED;
+
+// Constructors
+
+    /**
+     * This class only holds static methods, so it is never instantiated.
+     */
+    private SECP256K1VectorKernel() {
+    }
+
+// Methods
+
+    /**
+     * Multiplies the elements of two batches, a whole vector of elements at a
+     * time, and reports how many were done so the caller can finish the tail.
+     *
+     * @param r    The limbs to write the products to, which may be a or b.
+     * @param a    The limbs of the first factors.
+     * @param b    The limbs of the second factors.
+     * @param size The number of elements in each batch.
+     *
+     * @return The number of leading elements that have been multiplied.
+     */
+    protected static int multiply(long[][] r, long[][] a, long[][] b,
+                                  int size) {
+        int bound = SPECIES.loopBound(size);
+        int length = SPECIES.length();
+        // The columns live in a small array rather than in LongVector locals,
+        // as an array of vectors would defeat escape analysis.
+        long[][] c = new long[20][length];
+        for (int i = 0; i < bound; i += length) {
+            for (int m = 0; m < 19; m++) {
+                LongVector column = LongVector.zero(SPECIES);
+                for (int j = Math.max(0, m - 9); j <= Math.min(m, 9); j++) {
+                    LongVector x = LongVector.fromArray(SPECIES, a[j], i);
+                    LongVector y = LongVector.fromArray(SPECIES, b[m - j], i);
+                    column = column.add(x.mul(y));
+                }
+                column.intoArray(c[m], 0);
+            }
+            reduce(c);
+            for (int k = 0; k < 10; k++) {
+                LongVector.fromArray(SPECIES, c[k], 0).intoArray(r[k], i);
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Brings the 20 columns of a product down to ten weakly reduced limbs, in
+     * the same way SECP256K1FieldBatch does for a single element.
+     *
+     * @param c The columns, one vector each, modified in place.
+     */
+    private static void reduce(long[][] c) {
+        LongVector.zero(SPECIES).intoArray(c[19], 0);
+        for (int k = 0; k < 19; k++) {
+            carry(c, k);
+        }
+        LongVector top = load(c, 19).mul(SECP256K1FieldBatch.R1);
+        load(c, 9).add(load(c, 19).mul(SECP256K1FieldBatch.R0))
+                  .intoArray(c[9], 0);
+        for (int k = 18; k >= 10; k--) {
+            LongVector ck = load(c, k);
+            load(c, k - 9).add(ck.mul(SECP256K1FieldBatch.R1))
+                          .intoArray(c[k - 9], 0);
+            load(c, k - 10).add(ck.mul(SECP256K1FieldBatch.R0))
+                           .intoArray(c[k - 10], 0);
+        }
+        for (int k = 0; k < 9; k++) {
+            carry(c, k);
+        }
+        LongVector c9 = load(c, 9);
+        LongVector over = c9.lanewise(VectorOperators.ASHR, 22)
+                            .add(top.lanewise(VectorOperators.LSHL, 4));
+        c9.and(SECP256K1FieldBatch.M22).intoArray(c[9], 0);
+        load(c, 0).add(over.mul(SECP256K1FieldBatch.S0)).intoArray(c[0], 0);
+        load(c, 1).add(over.mul(SECP256K1FieldBatch.S1)).intoArray(c[1], 0);
+        for (int k = 0; k < 9; k++) {
+            carry(c, k);
+        }
+    }
+
+    /**
+     * Moves everything above the low 26 bits of one column into the next.
+     *
+     * @param c The columns, modified in place.
+     * @param k The index of the column to carry out of.
+     */
+    private static void carry(long[][] c, int k) {
+        LongVector ck = load(c, k);
+        load(c, k + 1).add(ck.lanewise(VectorOperators.ASHR, 26))
+                      .intoArray(c[k + 1], 0);
+        ck.and(SECP256K1FieldBatch.M26).intoArray(c[k], 0);
+    }
+
+    /**
+     * Loads one column as a vector.
+     *
+     * @param c The columns.
+     * @param k The index of the column to load.
+     *
+     * @return The column, as a LongVector.
+     */
+    private static LongVector load(long[][] c, int k) {
+        return LongVector.fromArray(SPECIES, c[k], 0);
+    }
+}
@@ -0,0 +1,573 @@
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A SolinasContext does arithmetic modulo a prime of the special form
+ * p = 2^k - c, reducing products by folding instead of dividing. Writing a
+ * product as x = h 2^k + l, x is congruent to l + hc modulo p, which is
+ * shorter than x whenever c is much shorter than 2^k, so a few folds bring x
+ * below 2^k and a subtraction or two finishes the reduction.
+ * <p>
+ * Two shapes of c are recognized. A pseudo-Mersenne prime has a c that fits
+ * in a single word, such as 2^256 - 2^32 - 977 (secp256k1) or 2^521 - 1
+ * (P-521), and a fold multiplies h by that word. A generalized Mersenne
+ * (Solinas) prime has a c that is a sum of a few signed powers of two, such
+ * as 2^384 - 2^128 - 2^96 + 2^32 - 1 (P-384), and a fold adds and subtracts
+ * shifted copies of h instead.
+ * <p>
+ * When k and every exponent of c are multiples of 32, as for P-224, P-256
+ * and P-384, the folds can be done once and for all instead, in the manner of
+ * the NIST reduction routines of FIPS 186: each 32-bit word of the product
+ * above 2^k is congruent to a fixed signed combination of the words below
+ * it, so the product is reduced by summing the high words into the low ones
+ * with small coefficients and propagating the carries. This is only done
+ * when it takes fewer multiply-adds than a Montgomery multiplication, as for
+ * P-224 and P-384. P-256 has too many coefficients for that, and its largest
+ * term of c is too close to 2^k to fold by, so it is not recognized at all.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public class SolinasContext extends FieldContext {
+// Attributes
+
+    /**
+     * The largest number of signed powers of two c may be made of.
+     */
+    private static final int MAX_TERMS = 8;
+
+    /**
+     * The fewest bits each fold has to remove, that is the least difference
+     * between k and the bit length of the largest term of c.
+     */
+    private static final int MIN_FOLD = 64;
+
+    /**
+     * The largest sum of the magnitudes of the coefficients a word below 2^k
+     * may receive from the words above it, which keeps the sums of the word
+     * reduction well within a long.
+     */
+    private static final int MAX_WEIGHT = 1 << 20;
+
+    /**
+     * A mask selecting the low 32 bits of a long.
+     */
+    private static final long M32 = 0xFFFFFFFFL;
+
+    /**
+     * The exponent k, where p = 2^k - c.
+     */
+    private final int k;
+
+    /**
+     * c, if it fits in a single word, and zero otherwise.
+     */
+    private final long c;
+
+    /**
+     * The exponents of the powers of two added to form c, if it does not fit
+     * in a single word.
+     */
+    private final int[] added;
+
+    /**
+     * The exponents of the powers of two subtracted to form c, if it does not
+     * fit in a single word.
+     */
+    private final int[] subtracted;
+
+    /**
+     * The number of whole words the largest term of c shifts a fold by.
+     */
+    private final int spread;
+
+    /**
+     * For each 32-bit word of a product above 2^k, the signed coefficients of
+     * the combination of the k / 32 words below 2^k it is congruent to, if
+     * p has the fixed word shape, and null otherwise.
+     */
+    private final int[][] reductions;
+
+// Constructors
+
+    /**
+     * Constructs a new Solinas context for the given prime.
+     *
+     * @param p          The odd prime number to perform modular arithmetic
+     *                   over, as a BigInteger.
+     * @param c          2^k - p, if it fits in a single word, and zero
+     *                   otherwise.
+     * @param added      The exponents of the powers of two added to form c.
+     * @param subtracted The exponents of the powers of two subtracted to form
+     *                   c.
+     * @param reductions The word reduction coefficients, or null to reduce
+     *                   by folding.
+     *
+     * @throws IllegalArgumentException If p is not odd.
+     */
+    private SolinasContext(BigInteger p, long c, int[] added,
+                           int[] subtracted, int[][] reductions) {
+        super(p);
+        this.k = p.bitLength();
+        this.c = c;
+        this.added = added;
+        this.subtracted = subtracted;
+        this.reductions = reductions;
+        int top = 0;
+        if (added != null) {
+            for (int e : added) {
+                top = Math.max(top, e);
+            }
+            for (int e : subtracted) {
+                top = Math.max(top, e);
+            }
+        }
+        this.spread = top >>> 6;
+    }
+
+// Methods
+
+    /**
+     * Detects whether a prime has a special form this context can reduce by,
+     * that is whether p = 2^k - c for k the bit length of p and a c whose
+     * signed binary digits are few and either well below 2^k or all on
+     * 32-bit word boundaries. Word-shaped primes are only recognized if the
+     * word sums are cheaper than a Montgomery multiplication, or if they can
+     * be folded by instead.
+     *
+     * @param p The odd prime number, as a BigInteger.
+     *
+     * @return A SolinasContext for p, or null if p has no such form or
+     * Montgomery multiplication would be faster.
+     */
+    protected static SolinasContext forPrime(BigInteger p) {
+        int k = p.bitLength();
+        int n = (k + 63) / 64;
+        BigInteger c = BigInteger.ONE.shiftLeft(k).subtract(p);
+        if (c.bitLength() < 64 && c.bitLength() <= k - MIN_FOLD) {
+            return new SolinasContext(p, c.longValue(), null, null, null);
+        }
+        BigInteger value = c;
+        // The non-adjacent form of c has the fewest non-zero digits of any
+        // signed binary representation.
+        int[] added = new int[MAX_TERMS];
+        int[] subtracted = new int[MAX_TERMS];
+        int plus = 0;
+        int minus = 0;
+        int top = 0;
+        for (int e = 0; c.signum() != 0; e++, c = c.shiftRight(1)) {
+            if (!c.testBit(0)) {
+                continue;
+            }
+            if (plus + minus == MAX_TERMS) {
+                return null;
+            }
+            if (c.testBit(1)) {
+                subtracted[minus++] = e;
+                c = c.add(BigInteger.ONE);
+            } else {
+                added[plus++] = e;
+                c = c.subtract(BigInteger.ONE);
+            }
+            top = e;
+        }
+        added = Arrays.copyOf(added, plus);
+        subtracted = Arrays.copyOf(subtracted, minus);
+        int[][] reductions = reductions(k, value, added, subtracted);
+        // The word sums only pay off while they take fewer multiply-adds than
+        // the 2n^2 word products of a Montgomery multiplication. P-256 needs
+        // 44 against 32 and is left to MontgomeryContext.
+        if (reductions != null && terms(reductions) >= 2 * n * n) {
+            reductions = null;
+        }
+        if (reductions == null && top + 1 > k - MIN_FOLD) {
+            return null;
+        }
+        return new SolinasContext(p, 0, added, subtracted, reductions);
+    }
+
+    /**
+     * Creates a register for values modulo p, with scratch space for the
+     * product and the folds a reduction works on.
+     *
+     * @return A new MutableInteger, equal to zero.
+     */
+    @Override
+    protected MutableInteger newRegister() {
+        return new MutableInteger(this.length, 6 * this.length + 6);
+    }
+
+    /**
+     * Returns the number of bits a register has to spare above p. Folding
+     * and word sums work for any product of two registers, so multiply
+     * accepts any two registers within the default maxMagnitude().
+     *
+     * @return 64n minus the bit length of p.
+     */
+    @Override
+    protected int headroom() {
+        return 64 * this.length - this.k;
+    }
+
+    /**
+     * Sets r to ab mod p by folding the product at bit k until it fits below
+     * 2^k, or by summing its words above 2^k into the ones below if p has
+     * the fixed word shape. The product and the folds are kept in the
+     * scratch words of r, so r may be the same register as a or b. r must
+     * have been created by newRegister.
+     *
+     * @param r The register to write the product to.
+     * @param a The first factor, of magnitude at most maxMagnitude().
+     * @param b The second factor, of magnitude at most maxMagnitude().
+     */
+    @Override
+    protected void multiply(MutableInteger r, MutableInteger a,
+                            MutableInteger b) {
+        int n = this.length;
+        int width = 2 * n + 2;
+        long[] t = r.scratch;
+        // x in t[0, width), h in t[width, 2 width) and the subtracted terms
+        // in t[2 width, 3 width).
+        for (int i = 0; i < n; i++) {
+            t[i] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            long ai = a.words[i];
+            long carry = 0;
+            for (int j = 0; j < n; j++) {
+                long lo = ai * b.words[j];
+                long hi = Math.unsignedMultiplyHigh(ai, b.words[j]);
+                lo += t[i + j];
+                hi += Long.compareUnsigned(lo, t[i + j]) >>> 31;
+                lo += carry;
+                hi += Long.compareUnsigned(lo, carry) >>> 31;
+                t[i + j] = lo;
+                carry = hi;
+            }
+            t[i + n] = carry;
+        }
+        if (this.reductions != null) {
+            this.reduceWords(r, t);
+            return;
+        }
+        // A fold that subtracts more than it adds leaves -x, which is tracked
+        // by negating x and remembering to negate the result.
+        boolean negative = false;
+        int size = 2 * n;
+        int h;
+        while ((h = this.split(t, width, size)) != 0) {
+            // Only the low words of x and the few words h reaches once
+            // multiplied by c can be non-zero after the fold.
+            size = Math.min(width, Math.max(n, h + this.spread + 1) + 1);
+            for (int i = n; i < size; i++) {
+                t[i] = 0;
+            }
+            if (this.added == null) {
+                multiplyAdd(t, width, h, size, this.c);
+                continue;
+            }
+            for (int e : this.added) {
+                shiftAdd(t, 0, width, h, size, e);
+            }
+            if (this.subtracted.length == 0) {
+                continue;
+            }
+            for (int i = 0; i < size; i++) {
+                t[2 * width + i] = 0;
+            }
+            for (int e : this.subtracted) {
+                shiftAdd(t, 2 * width, width, h, size, e);
+            }
+            if (subtract(t, width, size)) {
+                negative = !negative;
+            }
+        }
+        System.arraycopy(t, 0, r.words, 0, n);
+        r.magnitude = 1;
+        while (MutableInteger.compare(r, this.modulus) >= 0) {
+            MutableInteger.subtract(r, r, this.modulus);
+        }
+        if (negative && !r.isZero()) {
+            MutableInteger.subtract(r, this.modulus, r);
+        }
+    }
+
+    /**
+     * Works out the word reduction coefficients for p = 2^k - c, if k and
+     * every exponent of c are multiples of 32. The coefficients for the word
+     * at 2^(k + 32j) come from substituting c for 2^k, then again for every
+     * word the substitution reaches at or above 2^k, from the top down.
+     *
+     * @param k          The exponent k, where p = 2^k - c.
+     * @param c          c, as a BigInteger.
+     * @param added      The exponents of the powers of two added to form c.
+     * @param subtracted The exponents of the powers of two subtracted to form
+     *                   c.
+     *
+     * @return The coefficients for every word a product of two registers can
+     * have above 2^k, or null if p does not have the fixed word shape or the
+     * coefficients are too large for the reduction to settle quickly.
+     */
+    private static int[][] reductions(int k, BigInteger c, int[] added,
+                                      int[] subtracted) {
+        if (k % 32 != 0) {
+            return null;
+        }
+        for (int e : added) {
+            if (e % 32 != 0) {
+                return null;
+            }
+        }
+        for (int e : subtracted) {
+            if (e % 32 != 0) {
+                return null;
+            }
+        }
+        int low = k / 32;
+        int high = 4 * ((k + 63) / 64) - low;
+        int[][] reductions = new int[high][low];
+        long[] weights = new long[low];
+        for (int j = 0; j < high; j++) {
+            long[] v = new long[low + high];
+            v[low + j] = 1;
+            for (int m = low + j; m >= low; m--) {
+                long coefficient = v[m];
+                v[m] = 0;
+                for (int e : added) {
+                    v[m - low + e / 32] += coefficient;
+                }
+                for (int e : subtracted) {
+                    v[m - low + e / 32] -= coefficient;
+                }
+            }
+            for (int i = 0; i < low; i++) {
+                if (Math.abs(v[i]) > MAX_WEIGHT) {
+                    return null;
+                }
+                reductions[j][i] = (int) v[i];
+                weights[i] += Math.abs(v[i]);
+            }
+        }
+        // A sum of the low words and their weighted high words is below
+        // 2^k times one more than the heaviest weight, and the carries out of
+        // it settle within three passes as long as that many copies of c stay
+        // below 2^k.
+        long heaviest = 0;
+        for (long weight : weights) {
+            heaviest = Math.max(heaviest, weight);
+        }
+        if (heaviest > MAX_WEIGHT || c.multiply(BigInteger.valueOf(
+                heaviest + 2)).bitLength() > k) {
+            return null;
+        }
+        return reductions;
+    }
+
+    /**
+     * Counts the non-zero word reduction coefficients, each of which costs
+     * one multiply-add per product.
+     *
+     * @param reductions The word reduction coefficients.
+     *
+     * @return The number of non-zero coefficients.
+     */
+    private static int terms(int[][] reductions) {
+        int terms = 0;
+        for (int[] row : reductions) {
+            for (int coefficient : row) {
+                if (coefficient != 0) {
+                    terms++;
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Sets r to x mod p, where x is a product in t[0, 2n), by summing each
+     * of its 32-bit words above 2^k into the words below with its reduction
+     * coefficients. The signed sums are kept in t[2n, 2n + k / 32) and
+     * carried from word to word; a carry out of the top word is worth that
+     * many times 2^k and is summed back in with the coefficients of 2^k.
+     *
+     * @param r The register to write the result to.
+     * @param t The scratch words, holding x in t[0, 2n).
+     */
+    private void reduceWords(MutableInteger r, long[] t) {
+        int n = this.length;
+        int low = this.k / 32;
+        int sums = 2 * n;
+        for (int i = 0; i < low; i++) {
+            t[sums + i] = (t[i >>> 1] >>> (32 * (i & 1))) & M32;
+        }
+        for (int j = 0; j < this.reductions.length; j++) {
+            int d = low + j;
+            long word = (t[d >>> 1] >>> (32 * (d & 1))) & M32;
+            if (word == 0) {
+                continue;
+            }
+            int[] row = this.reductions[j];
+            for (int i = 0; i < low; i++) {
+                if (row[i] != 0) {
+                    t[sums + i] += row[i] * word;
+                }
+            }
+        }
+        int[] twoK = this.reductions[0];
+        while (true) {
+            long carry = 0;
+            for (int i = 0; i < low; i++) {
+                long sum = t[sums + i] + carry;
+                t[sums + i] = sum & M32;
+                carry = sum >> 32;
+            }
+            if (carry == 0) {
+                break;
+            }
+            for (int i = 0; i < low; i++) {
+                t[sums + i] += twoK[i] * carry;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            long word = t[sums + 2 * i];
+            if (2 * i + 1 < low) {
+                word |= t[sums + 2 * i + 1] << 32;
+            }
+            r.words[i] = word;
+        }
+        r.magnitude = 1;
+        while (MutableInteger.compare(r, this.modulus) >= 0) {
+            MutableInteger.subtract(r, r, this.modulus);
+        }
+    }
+
+    /**
+     * Splits x = h 2^k + l, leaving l in t[0, size) and h in
+     * t[width, width + size).
+     *
+     * @param t     The scratch words, holding x in t[0, size).
+     * @param width The index in t of the lowest word of h.
+     * @param size  The number of words in x.
+     *
+     * @return The number of words in h up to its highest non-zero one, or
+     * zero if h is zero.
+     */
+    private int split(long[] t, int width, int size) {
+        int words = this.k >>> 6;
+        int bits = this.k & 63;
+        int h = 0;
+        for (int i = 0; i + words < size; i++) {
+            int j = i + words;
+            long word = t[j] >>> bits;
+            if (bits != 0 && j + 1 < size) {
+                word |= t[j + 1] << (64 - bits);
+            }
+            t[width + i] = word;
+            if (word != 0) {
+                h = i + 1;
+            }
+        }
+        if (bits != 0) {
+            t[words] &= (1L << bits) - 1;
+        }
+        return h;
+    }
+
+    /**
+     * Adds h times a word to x, where h is in t[width, width + h) and x in
+     * t[0, size).
+     *
+     * @param t     The scratch words.
+     * @param width The index in t of the lowest word of h.
+     * @param h     The number of words in h.
+     * @param size  The number of words in x.
+     * @param c     The word to multiply h by.
+     */
+    private static void multiplyAdd(long[] t, int width, int h, int size,
+                                    long c) {
+        long carry = 0;
+        for (int i = 0; i < size; i++) {
+            long lo = 0;
+            long hi = 0;
+            if (i < h) {
+                lo = t[width + i] * c;
+                hi = Math.unsignedMultiplyHigh(t[width + i], c);
+            } else if (carry == 0) {
+                return;
+            }
+            lo += t[i];
+            hi += Long.compareUnsigned(lo, t[i]) >>> 31;
+            lo += carry;
+            hi += Long.compareUnsigned(lo, carry) >>> 31;
+            t[i] = lo;
+            carry = hi;
+        }
+    }
+
+    /**
+     * Adds h shifted left by a number of bits to the words of t starting at
+     * a given index, where h is in t[width, width + h).
+     *
+     * @param t     The scratch words.
+     * @param to    The index of the lowest word to add to.
+     * @param width The index in t of the lowest word of h.
+     * @param h     The number of words in h.
+     * @param size  The number of words to add to.
+     * @param shift The number of bits to shift h by.
+     */
+    private static void shiftAdd(long[] t, int to, int width, int h,
+                                 int size, int shift) {
+        int words = shift >>> 6;
+        int bits = shift & 63;
+        long carry = 0;
+        for (int i = words; i < size; i++) {
+            int j = i - words;
+            long word = 0;
+            if (j < h) {
+                word = t[width + j] << bits;
+            }
+            if (bits != 0 && j > 0 && j <= h) {
+                word |= t[width + j - 1] >>> (64 - bits);
+            }
+            if (j > h && carry == 0) {
+                return;
+            }
+            long sum = t[to + i] + word;
+            long c = Long.compareUnsigned(sum, word) >>> 31;
+            t[to + i] = sum + carry;
+            carry = c | (Long.compareUnsigned(t[to + i], carry) >>> 31);
+        }
+    }
+
+    /**
+     * Sets x to |x - s|, where x is in t[0, size) and s in
+     * t[2 width, 2 width + size).
+     *
+     * @param t     The scratch words.
+     * @param width The number of scratch words set aside for x and for h.
+     * @param size  The number of words in x and s.
+     *
+     * @return True if s was greater than x, False otherwise.
+     */
+    private static boolean subtract(long[] t, int width, int size) {
+        long borrow = 0;
+        for (int i = 0; i < size; i++) {
+            long x = t[i];
+            long y = t[2 * width + i];
+            long difference = x - y;
+            long c = Long.compareUnsigned(x, y) >>> 31;
+            t[i] = difference - borrow;
+            borrow = c | (Long.compareUnsigned(difference, borrow) >>> 31);
+        }
+        if (borrow == 0) {
+            return false;
+        }
+        // Two's complement negation.
+        long carry = 1;
+        for (int i = 0; i < size; i++) {
+            t[i] = ~t[i] + carry;
+            carry &= t[i] == 0 ? 1 : 0;
+        }
+        return true;
+    }
+}
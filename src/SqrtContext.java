@@ -0,0 +1,289 @@
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A SqrtContext holds everything about a prime p that square roots modulo p
+ * need but that does not depend on the residue: which algorithm applies, the
+ * exponent that algorithm raises to, and for Tonelli-Shanks the decomposition
+ * p - 1 = Q * 2^s along with a quadratic non-residue z and its powers
+ * z^(Q * 2^i). Building one is the expensive part, so each Curve holds the
+ * context for its prime.
+ * <p>
+ * When p - 1 is divisible by a large power of two, the bit-by-bit loop of
+ * Tonelli-Shanks needs O(s^2) squarings. For those primes the discrete log of
+ * residue^Q with respect to z^Q is instead recovered a window of bits at a
+ * time, following Bernstein and Sutherland, using precomputed tables of roots
+ * of unity.
+ *
+ * @author Sam K
+ * @version 10/18/2026
+ */
+public class SqrtContext {
+// Attributes
+
+    /**
+     * The smallest 2-adic valuation of p - 1 for which the table-driven
+     * algorithm is used instead of the Tonelli-Shanks loop.
+     */
+    private static final int TABLE_VALUATION = 8;
+
+    /**
+     * The prime number square roots are taken modulo, as a BigInteger.
+     */
+    private final BigInteger p;
+
+    /**
+     * The exponent the residue is raised to: (p+1)/4 for primes congruent to
+     * 3 mod 4, (p-5)/8 for primes congruent to 5 mod 8, and (Q-1)/2 for
+     * Tonelli-Shanks.
+     */
+    private final BigInteger exponent;
+
+    /**
+     * The 2-adic valuation s of p - 1.
+     */
+    private final int s;
+
+    /**
+     * The powers z^(Q * 2^i) for i in [0, s-1] of a quadratic non-residue z,
+     * or null if this prime does not need Tonelli-Shanks.
+     */
+    private final BigInteger[] nonResiduePowers;
+
+    /**
+     * The number of bits of the discrete log recovered per table lookup, or 0
+     * if the table-driven algorithm is not used for this prime.
+     */
+    private final int window;
+
+    /**
+     * The rows g^(-d * 2^m) for d in [0, 2^window), indexed by m, where g =
+     * z^Q. Only the rows the table-driven algorithm reads are filled in.
+     */
+    private final BigInteger[][] inverseRootTables;
+
+    /**
+     * Maps each power zeta^d of zeta = g^(2^(s - window)), a primitive
+     * 2^window-th root of unity, to d.
+     */
+    private final Map<BigInteger, Integer> discreteLogs;
+
+// Constructors
+
+    /**
+     * Constructs a new square root context for the given prime.
+     *
+     * @param p The odd prime number, as a BigInteger.
+     */
+    protected SqrtContext(BigInteger p) {
+        this.p = p;
+        BigInteger pMinusOne = p.subtract(BigInteger.ONE);
+        this.s = pMinusOne.getLowestSetBit();
+        BigInteger q = pMinusOne.shiftRight(this.s);
+        if (p.testBit(1)) {
+            this.exponent = p.add(BigInteger.ONE).shiftRight(2);
+            this.nonResiduePowers = null;
+        } else if (p.testBit(2)) {
+            this.exponent = p.subtract(BigInteger.valueOf(5)).shiftRight(3);
+            this.nonResiduePowers = null;
+        } else {
+            this.exponent = q.shiftRight(1);
+            this.nonResiduePowers = new BigInteger[this.s];
+            BigInteger power = Modular.findNonResidue(p).modPow(q, p);
+            for (int i = 0; i < this.s; i++) {
+                this.nonResiduePowers[i] = power;
+                power = power.multiply(power).mod(p);
+            }
+        }
+        if (this.nonResiduePowers == null || this.s < TABLE_VALUATION) {
+            this.window = 0;
+            this.inverseRootTables = null;
+            this.discreteLogs = null;
+            return;
+        }
+        this.window = 31 - Integer.numberOfLeadingZeros(this.s);
+        this.discreteLogs = new HashMap<>();
+        BigInteger zeta = this.nonResiduePowers[this.s - this.window];
+        BigInteger power = BigInteger.ONE;
+        for (int d = 0; d < 1 << this.window; d++) {
+            this.discreteLogs.put(power, d);
+            power = power.multiply(zeta).mod(p);
+        }
+        this.inverseRootTables = new BigInteger[this.s][];
+        int digits = this.digits();
+        for (int i = 0; i < digits; i++) {
+            for (int j = 0; j < i; j++) {
+                this.fillInverseRootTable(this.s - this.top(i) + j *
+                                                              this.window);
+            }
+            this.fillInverseRootTable(Math.max(i * this.window - 1, 0));
+        }
+    }
+
+// Methods
+
+    /**
+     * Calculates a square root of a residue modulo this context's prime.
+     *
+     * @param residue The residue, as a BigInteger.
+     *
+     * @return A square root of residue mod p or null if none exists.
+     */
+    protected BigInteger squareRoot(BigInteger residue) {
+        residue = residue.mod(this.p);
+        if (residue.signum() == 0) {
+            return BigInteger.ZERO;
+        }
+        // Rejecting non-squares here costs about as much as a GCD, and means
+        // every path below is known to succeed.
+        if (Modular.jacobi(residue, this.p) != 1) {
+            return null;
+        }
+        if (this.p.testBit(1)) {
+            return residue.modPow(this.exponent, this.p);
+        } else if (this.p.testBit(2)) {
+            // Atkin: with v = (2a)^((p-5)/8) and i = 2av^2, av(i - 1) is a
+            // root of a.
+            BigInteger twoResidue = residue.shiftLeft(1).mod(this.p);
+            BigInteger v = twoResidue.modPow(this.exponent, this.p);
+            BigInteger i = twoResidue.multiply(v).multiply(v).mod(this.p);
+            return residue.multiply(v).multiply(i.subtract(BigInteger.ONE))
+                          .mod(this.p);
+        } else if (this.window > 0) {
+            return this.tableSquareRoot(residue);
+        } else {
+            return this.tonelliShanks(residue);
+        }
+    }
+
+    /**
+     * Calculates a square root of a non-zero residue with the Tonelli-Shanks
+     * algorithm. The only exponentiation is residue^((Q-1)/2); every factor
+     * the loop corrects by is read from the precomputed powers of the
+     * non-residue.
+     *
+     * @param residue The residue in [1, p-1], as a BigInteger.
+     *
+     * @return A square root of residue mod p or null if none exists.
+     */
+    private BigInteger tonelliShanks(BigInteger residue) {
+        BigInteger w = residue.modPow(this.exponent, this.p);
+        BigInteger root = residue.multiply(w).mod(this.p);
+        BigInteger t = root.multiply(w).mod(this.p);
+        int m = this.s;
+        while (!t.equals(BigInteger.ONE)) {
+            // Find the least i such that t^(2^i) = 1.
+            int i = 0;
+            BigInteger u = t;
+            while (!u.equals(BigInteger.ONE)) {
+                u = u.multiply(u).mod(this.p);
+                i++;
+                if (i == m) {
+                    return null;
+                }
+            }
+            BigInteger b = this.nonResiduePowers[this.s - i - 1];
+            root = root.multiply(b).mod(this.p);
+            t = t.multiply(this.nonResiduePowers[this.s - i]).mod(this.p);
+            m = i;
+        }
+        return root;
+    }
+
+    /**
+     * Returns the number of window-sized digits the discrete log is split
+     * into. The last digit may be narrower than the window.
+     *
+     * @return The number of digits, ceil(s / window).
+     */
+    private int digits() {
+        return (this.s + this.window - 1) / this.window;
+    }
+
+    /**
+     * Fills in the row g^(-d * 2^m) of the inverse root tables, if it has not
+     * been filled in already.
+     *
+     * @param m The base 2 logarithm of the exponent scale of the row.
+     */
+    private void fillInverseRootTable(int m) {
+        if (this.inverseRootTables[m] != null) {
+            return;
+        }
+        // g has order 2^s, so g^-1 = g^(2^s - 1) and (g^-1)^(2^m) is just
+        // another entry of the non-residue powers, inverted.
+        BigInteger base = this.nonResiduePowers[m].modInverse(this.p);
+        BigInteger[] row = new BigInteger[1 << this.window];
+        BigInteger power = BigInteger.ONE;
+        for (int d = 0; d < row.length; d++) {
+            row[d] = power;
+            power = power.multiply(base).mod(this.p);
+        }
+        this.inverseRootTables[m] = row;
+    }
+
+    /**
+     * Calculates a square root of a non-zero residue by recovering the
+     * discrete log e of a = residue^Q with respect to g = z^Q one window at a
+     * time. The powers a^(2^k) are computed by a single chain of s squarings,
+     * and each digit only needs table multiplications to cancel the digits
+     * already found. The root is then residue^((Q+1)/2) * g^(-e/2).
+     *
+     * @param residue The residue in [1, p-1], as a BigInteger.
+     *
+     * @return A square root of residue mod p or null if none exists.
+     */
+    private BigInteger tableSquareRoot(BigInteger residue) {
+        BigInteger w = residue.modPow(this.exponent, this.p);
+        BigInteger root = residue.multiply(w).mod(this.p);
+        BigInteger a = root.multiply(w).mod(this.p);
+        int digits = this.digits();
+        // aPowers[i] = a^(2^(s - top(i))), the power whose order is small
+        // enough to expose digit i once the lower digits are cancelled.
+        BigInteger[] aPowers = new BigInteger[digits];
+        BigInteger square = a;
+        for (int k = 0, i = digits - 1; i >= 0; k++) {
+            if (k == this.s - this.top(i)) {
+                aPowers[i--] = square;
+            }
+            square = square.multiply(square).mod(this.p);
+        }
+        int[] e = new int[digits];
+        for (int i = 0; i < digits; i++) {
+            BigInteger x = aPowers[i];
+            for (int j = 0; j < i; j++) {
+                int m = this.s - this.top(i) + j * this.window;
+                x = x.multiply(this.inverseRootTables[m][e[j]]).mod(this.p);
+            }
+            Integer d = this.discreteLogs.get(x);
+            if (d == null) {
+                return null;
+            }
+            e[i] = d >> (this.window - (this.top(i) - i * this.window));
+        }
+        if ((e[0] & 1) != 0) {
+            return null;
+        }
+        // g^(-e/2): digit j > 0 contributes g^(-e_j * 2^(j*window - 1)).
+        root = root.multiply(this.inverseRootTables[0][e[0] >> 1])
+                   .mod(this.p);
+        for (int j = 1; j < digits; j++) {
+            BigInteger[] row = this.inverseRootTables[j * this.window - 1];
+            root = root.multiply(row[e[j]]).mod(this.p);
+        }
+        return root;
+    }
+
+    /**
+     * Returns the position just past the highest bit of digit i of the
+     * discrete log.
+     *
+     * @param i The index of the digit.
+     *
+     * @return min((i+1) * window, s).
+     */
+    private int top(int i) {
+        return Math.min((i + 1) * this.window, this.s);
+    }
+}